@@ -0,0 +1,83 @@
+package ch.epfl.alpano;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of distances and azimuths per second computed 
+ * from one observer to random points of the Alps, point by point and by GeoKernels.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoPointBenchmark {
+    private final static int POINTS = 1024;
+
+    private final GeoPoint observer = new GeoPoint(Math.toRadians(6.56599), Math.toRadians(46.52224));
+    private final GeoPoint[] points = new GeoPoint[POINTS];
+    private final double[] lons = new double[POINTS], lats = new double[POINTS];
+    private final double[] out = new double[POINTS];
+
+    @Setup
+    public void setUp() {
+        Random rng = new Random(2017);
+        for (int i = 0; i < POINTS; ++i) {
+            points[i] = new GeoPoint(Math.toRadians(5 + 6 * rng.nextDouble()), 
+                    Math.toRadians(45 + 3 * rng.nextDouble()));
+            lons[i] = points[i].longitude();
+            lats[i] = points[i].latitude();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double distanceTo() {
+        double sum = 0;
+        for (GeoPoint p : points) {
+            sum += observer.distanceTo(p);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double azimuthTo() {
+        double sum = 0;
+        for (GeoPoint p : points) {
+            sum += observer.azimuthTo(p);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] kernelDistances() {
+        GeoKernels.distances(observer, lons, lats, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public double[] kernelAzimuths() {
+        GeoKernels.azimuths(observer, lons, lats, out);
+        return out;
+    }
+}
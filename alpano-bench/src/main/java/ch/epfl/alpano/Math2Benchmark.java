@@ -0,0 +1,46 @@
+package ch.epfl.alpano;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the root finding methods of Math2 on a function shaped like the difference 
+ * between a terrain and a ray, whose first root is at about 90 km.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Math2Benchmark {
+    private final static double MAX_X = 100_000;
+    private final static double DX = 64;
+    private final static double EPSILON = 1;
+
+    private final DoubleUnaryOperator f = x -> 50 * Math.sin(x / 300) + x - 90_000;
+    private final double lowerBound = Math2.firstIntervalContainingRoot(f, 0, MAX_X, DX);
+
+    @Benchmark
+    public double firstIntervalContainingRoot() {
+        return Math2.firstIntervalContainingRoot(f, 0, MAX_X, DX);
+    }
+
+    @Benchmark
+    public double improveRoot() {
+        return Math2.improveRoot(f, lowerBound, lowerBound + DX, EPSILON);
+    }
+}
@@ -0,0 +1,78 @@
+package ch.epfl.alpano;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+
+/**
+ * Measures the computation of a panorama of 60 degrees over hills, half of its columns
+ * pointing to a flat plain, by PanoramaComputer.computePanorama and by PanoramaExecutor.
+ * Run it with -p width=8000 to measure the scaling of large panoramas.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PanoramaBenchmark {
+    @Param({ "1000" })
+    public int width;
+
+    private PanoramaComputer computer;
+    private PanoramaExecutor executor;
+    private PanoramaParameters parameters;
+
+    @Setup
+    public void setUp() {
+        computer = new PanoramaComputer(new ContinuousElevationModel(new HalfHillsDEM()));
+        executor = new PanoramaExecutor(computer);
+        parameters = new PanoramaParameters(new GeoPoint(Math.toRadians(7), Math.toRadians(46.5)),
+                1000, 0, Math.toRadians(60), 50_000, width, width / 3);
+    }
+
+    @Benchmark
+    public Panorama computePanorama() {
+        return computer.computePanorama(parameters);
+    }
+
+    @Benchmark
+    public Panorama executor() {
+        return executor.compute(parameters);
+    }
+
+    /**
+     * Hills east of longitude 7.2 degrees, plain at sea level elsewhere.
+     */
+    static final class HalfHillsDEM implements DiscreteElevationModel {
+        private final Interval2D extent = new Interval2D(
+                new Interval1D(6 * 3600, 8 * 3600), new Interval1D(46 * 3600, 48 * 3600));
+
+        @Override
+        public Interval2D extent() { return extent; }
+
+        @Override
+        public double elevationSample(int x, int y) {
+            return x < 7.2 * 3600 ? 0 : 1200 + 800 * Math.sin(x / 50d) * Math.cos(y / 70d);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,67 @@
+package ch.epfl.alpano;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.ElevationProfile;
+
+/**
+ * Compares the search of the first interval containing the root of a ray by the generic
+ * method of RootSolver, whose call site has seen several kinds of functions as it does
+ * in a real application, with the method specialized for RayToGroundDistance.
+ *
+ * The ray follows a 100 km profile precomputing its elevations, and hits the terrain
+ * at about 90 km.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RayToGroundDistanceBenchmark {
+    private final static double MAX_X = 100_000 - 64;
+    private final static double DX = 64;
+
+    private RayToGroundDistance ray;
+    private RootSolver solver;
+
+    @Setup
+    public void setUp() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        ElevationProfile profile = new ElevationProfile(dem,
+                new GeoPoint(Math.toRadians(6.5), Math.toRadians(46.5)), Math.toRadians(30), 100_000, 64);
+        ray = new RayToGroundDistance(profile, 1000, 0.0065);
+        solver = new RootSolver(RootSolver.Method.BISECTION);
+
+        DoubleUnaryOperator[] others = { x -> x - 50_000, x -> Math.sin(x / 1000), ray, x -> 1 };
+        for (int i = 0; i < 20_000; ++i) {
+            solver.firstIntervalContainingRoot(others[i % others.length], 0, MAX_X, DX);
+        }
+    }
+
+    @Benchmark
+    public double generic() {
+        return solver.firstIntervalContainingRoot((DoubleUnaryOperator) ray, 0, MAX_X, DX);
+    }
+
+    @Benchmark
+    public double specialized() {
+        return solver.firstIntervalContainingRoot(ray, 0, MAX_X, DX);
+    }
+}
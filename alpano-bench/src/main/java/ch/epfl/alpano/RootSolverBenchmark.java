@@ -0,0 +1,87 @@
+package ch.epfl.alpano;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the search and improvement of a root by RootSolver on the same function as
+ * Math2Benchmark. The evaluations of the function are reported as a secondary result,
+ * in evaluations per second : divided by the score, it gives the evaluations per root.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RootSolverBenchmark {
+    private final static double MAX_X = 100_000;
+    private final static double DX = 64;
+    private final static double EPSILON = 1;
+
+    @Param({ "BISECTION", "ILLINOIS" })
+    public RootSolver.Method method;
+
+    private final DoubleUnaryOperator f = x -> 50 * Math.sin(x / 300) + x - 90_000;
+    private final double lowerBound = Math2.firstIntervalContainingRoot(f, 0, MAX_X, DX);
+    private RootSolver solver;
+
+    /**
+     * Evaluations of the function done by the benchmarks.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Evaluations {
+        public long evaluations;
+    }
+
+    @Setup
+    public void setUp() {
+        solver = new RootSolver(method);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetEvaluations() {
+        solver.resetEvaluations();
+    }
+
+    /**
+     * Same work as Math2Benchmark.firstIntervalContainingRoot followed by improveRoot.
+     */
+    @Benchmark
+    public double findRoot(Evaluations evaluations) {
+        long before = solver.evaluations();
+        double lowerBound = solver.firstIntervalContainingRoot(f, 0, MAX_X, DX);
+        double root = solver.improveRoot(f, lowerBound, lowerBound + DX, EPSILON);
+        evaluations.evaluations += solver.evaluations() - before;
+        return root;
+    }
+
+    /**
+     * Improvement alone, with a precision of 1e-3 meter.
+     */
+    @Benchmark
+    public double improveRoot(Evaluations evaluations) {
+        long before = solver.evaluations();
+        double root = solver.improveRoot(f, lowerBound, lowerBound + DX, 1e-3);
+        evaluations.evaluations += solver.evaluations() - before;
+        return root;
+    }
+}
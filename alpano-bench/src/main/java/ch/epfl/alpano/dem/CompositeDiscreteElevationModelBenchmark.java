@@ -0,0 +1,86 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Measures the number of random samples per second read from a row of one degree 
+ * tiles, joined either with union (a tree of CompositeDiscreteElevationModel 
+ * whose depth is the number of tiles) or with TiledDiscreteElevationModel.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeDiscreteElevationModelBenchmark {
+    private final static int LOOKUPS = 1024;
+
+    @Param({ "1", "4", "16", "64" })
+    public int tiles;
+
+    @Param({ "composite", "tiled" })
+    public String layout;
+
+    private DiscreteElevationModel dem;
+    private final int[] xs = new int[LOOKUPS];
+    private final int[] ys = new int[LOOKUPS];
+
+    @Setup
+    public void setUp() {
+        List<DiscreteElevationModel> tileList = new ArrayList<>();
+        for (int i = 0; i < tiles; ++i) {
+            tileList.add(new WavyDEM(new Interval2D(
+                    new Interval1D(i * SAMPLES_PER_DEGREE, (i + 1) * SAMPLES_PER_DEGREE),
+                    new Interval1D(0, SAMPLES_PER_DEGREE))));
+        }
+        if (layout.equals("tiled")) {
+            dem = new TiledDiscreteElevationModel(tileList);
+        } else {
+            dem = tileList.get(0);
+            for (int i = 1; i < tiles; ++i) {
+                dem = dem.union(tileList.get(i));
+            }
+        }
+
+        Random rng = new Random(2017);
+        for (int i = 0; i < LOOKUPS; ++i) {
+            xs[i] = rng.nextInt(tiles * SAMPLES_PER_DEGREE + 1);
+            ys[i] = rng.nextInt(SAMPLES_PER_DEGREE + 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public double elevationSample() {
+        double sum = 0;
+        for (int i = 0; i < LOOKUPS; ++i) {
+            sum += dem.elevationSample(xs[i], ys[i]);
+        }
+        return sum;
+    }
+}
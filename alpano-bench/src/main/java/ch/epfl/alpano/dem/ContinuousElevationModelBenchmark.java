@@ -0,0 +1,95 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Measures the number of elevation and slope queries per second answered by 
+ * a ContinuousElevationModel over a one degree WavyDEM, with slopes either 
+ * computed at each query or precomputed by DiscreteSlopeModel.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContinuousElevationModelBenchmark {
+    private final static int QUERIES = 1024;
+
+    @Param({ "computed", "precomputed" })
+    public String slopes;
+
+    private ContinuousElevationModel cDEM;
+    private final double[] longitudes = new double[QUERIES];
+    private final double[] latitudes = new double[QUERIES];
+    private final GeoPoint[] points = new GeoPoint[QUERIES];
+
+    @Setup
+    public void setUp() {
+        DiscreteElevationModel dem = new WavyDEM(new Interval2D(
+                new Interval1D(0, SAMPLES_PER_DEGREE), new Interval1D(0, SAMPLES_PER_DEGREE)));
+        cDEM = slopes.equals("precomputed")
+                ? new ContinuousElevationModel(dem, DiscreteSlopeModel.of(dem))
+                : new ContinuousElevationModel(dem);
+
+        Random rng = new Random(2017);
+        for (int i = 0; i < QUERIES; ++i) {
+            longitudes[i] = Math.toRadians(rng.nextDouble());
+            latitudes[i] = Math.toRadians(rng.nextDouble());
+            points[i] = new GeoPoint(longitudes[i], latitudes[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double elevationAt() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; ++i) {
+            sum += cDEM.elevationAt(longitudes[i], latitudes[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double elevationAtGeoPoint() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; ++i) {
+            sum += cDEM.elevationAt(points[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public double slopeAt() {
+        double sum = 0;
+        for (int i = 0; i < QUERIES; ++i) {
+            sum += cDEM.slopeAt(longitudes[i], latitudes[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,150 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Measures the construction of ElevationProfile over a 3x3 degrees WavyDEM, 
+ * and the number of positions and elevations per second read along it.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElevationProfileBenchmark {
+    private final static int STEPS = 1000;
+    private final static int COLUMNS = 2500;
+
+    @Param({ "100000" })
+    public double length;
+
+    private ContinuousElevationModel cDEM;
+    private GeoPoint origin;
+    private ElevationProfile profile;
+    private ElevationProfile precomputedProfile;
+    private double azimuth;
+    private double[] columnAzimuths;
+
+    @Setup
+    public void setUp() {
+        DiscreteElevationModel dem = new WavyDEM(new Interval2D(
+                new Interval1D(0, 3 * SAMPLES_PER_DEGREE), new Interval1D(0, 3 * SAMPLES_PER_DEGREE)));
+        cDEM = new ContinuousElevationModel(dem);
+        origin = new GeoPoint(Math.toRadians(1.5), Math.toRadians(1.5));
+        profile = new ElevationProfile(cDEM, origin, Math.toRadians(30), length);
+        columnAzimuths = new double[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+            columnAzimuths[i] = i * 2 * Math.PI / COLUMNS;
+        }
+        precomputedProfile = new ElevationProfile(cDEM, origin, Math.toRadians(30), length, 64);
+    }
+
+    /**
+     * Builds a profile, with a different azimuth at each invocation.
+     */
+    @Benchmark
+    public ElevationProfile construction() {
+        azimuth = (azimuth + 0.001) % (2 * Math.PI);
+        return new ElevationProfile(cDEM, origin, azimuth, length);
+    }
+
+    /**
+     * Builds the profiles of a 360 degrees panorama of 2500 columns, one by one.
+     */
+    @Benchmark
+    public ElevationProfile[] singleConstructions() {
+        ElevationProfile[] profiles = new ElevationProfile[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+            profiles[i] = new ElevationProfile(cDEM, origin, columnAzimuths[i], length);
+        }
+        return profiles;
+    }
+
+    /**
+     * Builds the same profiles as singleConstructions sequentially, sharing their tables.
+     */
+    @Benchmark
+    public ElevationProfile[] sharedConstructions() {
+        DoubleFunction<ElevationProfile> profiles = ElevationProfile.profiles(cDEM, origin, length, 0);
+        ElevationProfile[] result = new ElevationProfile[COLUMNS];
+        for (int i = 0; i < COLUMNS; ++i) {
+            result[i] = profiles.apply(columnAzimuths[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Builds the same profiles as singleConstructions in parallel, sharing their tables.
+     */
+    @Benchmark
+    public ElevationProfile[] parallelSharedConstructions() {
+        DoubleFunction<ElevationProfile> profiles = ElevationProfile.profiles(cDEM, origin, length, 0);
+        ElevationProfile[] result = new ElevationProfile[COLUMNS];
+        IntStream.range(0, COLUMNS).parallel().forEach(i -> result[i] = profiles.apply(columnAzimuths[i]));
+        return result;
+    }
+
+    /**
+     * Builds a profile precomputing its elevations every 64 meters.
+     */
+    @Benchmark
+    public ElevationProfile precomputedConstruction() {
+        azimuth = (azimuth + 0.001) % (2 * Math.PI);
+        return new ElevationProfile(cDEM, origin, azimuth, length, 64);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public double positionAt() {
+        double sum = 0;
+        for (int i = 0; i < STEPS; ++i) {
+            sum += profile.positionAt(i * length / STEPS).longitude();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public double elevationAt() {
+        double sum = 0;
+        for (int i = 0; i < STEPS; ++i) {
+            sum += profile.elevationAt(i * length / STEPS);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public double precomputedElevationAt() {
+        double sum = 0;
+        for (int i = 0; i < STEPS; ++i) {
+            sum += precomputedProfile.elevationAt(i * length / STEPS);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,122 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of samples per second read from a HGT tile
+ * through HgtDiscreteElevationModel.elevationSample.
+ * 
+ * With -p format=MAPPED or -p format=LOADED, the tile is first converted to a RAW packed
+ * tile, then read through PackedDiscreteElevationModel, mapped in native order or loaded
+ * into an array.
+ * 
+ * By default, the tile is a synthetic one written by SyntheticHgtFile; a real tile 
+ * can be used instead, e.g. with -p hgtFile=/path/to/N46E006.hgt
+ * Run it against a checkout before and after a change of HgtDiscreteElevationModel
+ * to compare both figures.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HgtDiscreteElevationModelBenchmark {
+    private final static int ROW_SAMPLES = SAMPLES_PER_DEGREE + 1;
+
+    @Param("")
+    public String hgtFile;
+
+    @Param({ "HGT", "MAPPED", "LOADED" })
+    public String format;
+
+    private DiscreteElevationModel dem;
+    private int originX;
+    private int originY;
+    private int row;
+    private final double[] samples = new double[ROW_SAMPLES];
+
+    @Setup
+    public void setUp() throws Exception {
+        File file = hgtFile.isEmpty() ? SyntheticHgtFile.writeTemporary("N46E006.hgt") : new File(hgtFile);
+        if (format.equals("HGT")) {
+            dem = new HgtDiscreteElevationModel(file);
+        } else {
+            File packed = File.createTempFile("alpano", ".packed");
+            packed.deleteOnExit();
+            PackedDiscreteElevationModel.convert(file, packed, PackedDiscreteElevationModel.Layout.RAW);
+            dem = format.equals("MAPPED") 
+                    ? PackedDiscreteElevationModel.map(packed) 
+                    : PackedDiscreteElevationModel.load(packed);
+        }
+        originX = dem.extent().iX().includedFrom();
+        originY = dem.extent().iY().includedFrom();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dem.close();
+    }
+
+    /**
+     * Reads one full row of the tile, a different one at each invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_SAMPLES)
+    public double elevationSampleRow() {
+        int y = originY + row;
+        row = (row + 1) % ROW_SAMPLES;
+        double sum = 0;
+        for (int x = originX; x < originX + ROW_SAMPLES; ++x) {
+            sum += dem.elevationSample(x, y);
+        }
+        return sum;
+    }
+
+    /**
+     * Reads one full row of the tile with elevationSamples, a different one at each invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_SAMPLES)
+    public double[] elevationSamplesRow() {
+        int y = originY + row;
+        row = (row + 1) % ROW_SAMPLES;
+        dem.elevationSamples(originX, y, ROW_SAMPLES, samples);
+        return samples;
+    }
+
+    /**
+     * Reads one full column of the tile, a different one at each invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROW_SAMPLES)
+    public double elevationSampleColumn() {
+        int x = originX + row;
+        row = (row + 1) % ROW_SAMPLES;
+        double sum = 0;
+        for (int y = originY; y < originY + ROW_SAMPLES; ++y) {
+            sum += dem.elevationSample(x, y);
+        }
+        return sum;
+    }
+}
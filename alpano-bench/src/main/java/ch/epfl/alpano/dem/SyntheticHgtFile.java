@@ -0,0 +1,67 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+
+/**
+ * Writes HGT files whose elevations are those of WavyDEM, 
+ * so that benchmarks can run without real elevation data.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+final class SyntheticHgtFile {
+    private SyntheticHgtFile() {}
+
+    /**
+     * Writes a HGT file with the given name (e.g. N46E006.hgt) in the given directory.
+     * 
+     * @param directory directory in which the file is written
+     * @param name name of the file
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    @SuppressWarnings("resource")
+    static File write(File directory, String name) throws IOException {
+        File file = new File(directory, name);
+        WavyDEM dem = new WavyDEM(HgtDiscreteElevationModel.extentOfName(name));
+        int originX = dem.extent().iX().includedFrom();
+        int northY = dem.extent().iY().includedTo();
+        int side = SAMPLES_PER_DEGREE + 1;
+        
+        try (RandomAccessFile f = new RandomAccessFile(file, "rw");
+                FileChannel c = f.getChannel()) {
+            ShortBuffer samples = c.map(MapMode.READ_WRITE, 0, HgtDiscreteElevationModel.HGT_FILE_LENGTH)
+                    .asShortBuffer();
+            for (int row = 0; row < side; ++row) {
+                for (int i = 0; i < side; ++i) {
+                    samples.put((short) dem.elevationSample(originX + i, northY - row));
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Writes a HGT file with the given name in a new temporary directory, 
+     * both being deleted when the virtual machine exits.
+     * 
+     * @param name name of the file
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    static File writeTemporary(String name) throws IOException {
+        File directory = Files.createTempDirectory("alpano").toFile();
+        directory.deleteOnExit();
+        File file = write(directory, name);
+        file.deleteOnExit();
+        return file;
+    }
+}
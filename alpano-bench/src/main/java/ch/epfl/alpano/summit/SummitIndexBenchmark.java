@@ -0,0 +1,73 @@
+package ch.epfl.alpano.summit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.alpano.GeoPoint;
+
+/**
+ * Measures the queries of the summits seen by a panorama of 60 degrees, among 10000 
+ * random summits of Switzerland, by SummitIndex and by a linear scan.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummitIndexBenchmark {
+    private final static GeoPoint OBSERVER = new GeoPoint(Math.toRadians(6.56599), Math.toRadians(46.52224));
+    private final static double FROM = Math.toRadians(30), TO = Math.toRadians(90);
+
+    @Param({ "20000", "100000" })
+    public double maxDistance;
+
+    private List<Summit> summits;
+    private SummitIndex index;
+
+    @Setup
+    public void setUp() {
+        Random rng = new Random(2017);
+        summits = new ArrayList<>();
+        for (int i = 0; i < 10_000; ++i) {
+            GeoPoint p = new GeoPoint(Math.toRadians(6 + 4.5 * rng.nextDouble()), 
+                    Math.toRadians(45.8 + 2 * rng.nextDouble()));
+            summits.add(new Summit("S" + i, p, rng.nextInt(4000)));
+        }
+        index = new SummitIndex(summits);
+    }
+
+    @Benchmark
+    public List<Summit> index() {
+        return index.summitsWithin(OBSERVER, maxDistance, FROM, TO);
+    }
+
+    @Benchmark
+    public List<Summit> linearScan() {
+        List<Summit> result = new ArrayList<>();
+        for (Summit s : summits) {
+            double a = OBSERVER.azimuthTo(s.position());
+            if (OBSERVER.distanceTo(s.position()) <= maxDistance && FROM <= a && a <= TO) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+}
@@ -22,24 +22,40 @@ public interface Azimuth {
     }
     
     /**
-     * Computes a given azimuth in his canonical form
+     * Computes a given azimuth in his canonical form, in constant time
      * 
      * @param azimuth azimuth in radians
      * @return the canonical form of given azimuth
+     * @throws IllegalArgumentException if the azimuth is infinite or NaN
      */
     
     public static double canonicalize(double azimuth){
+        if (isCanonical(azimuth)) {
+            return azimuth;
+        }
+        checkArgument(!Double.isInfinite(azimuth) && !Double.isNaN(azimuth));
         
-        while (!isCanonical(azimuth)) {
-            if (azimuth < 0){
-                azimuth += Math2.PI2;
-            }
-            
-            if (azimuth > Math2.PI2) {
-                azimuth -= Math2.PI2;
-            }
+        double canonical = azimuth % Math2.PI2;
+        if (canonical < 0) {
+            canonical += Math2.PI2;
+        }
+        // a tiny negative azimuth plus 2PI rounds to 2PI
+        return canonical < Math2.PI2 ? canonical : 0;
+    }
+    
+    /**
+     * Computes the canonical forms of the azimuths of in into out, which can be in itself
+     * 
+     * @param in azimuths in radians
+     * @param out array receiving the canonical forms, as long as in
+     * @throws IllegalArgumentException if the arrays have different lengths, 
+     * or if an azimuth is infinite or NaN
+     */
+    public static void canonicalize(double[] in, double[] out) {
+        checkArgument(in.length == out.length);
+        for (int i = 0; i < in.length; ++i) {
+            out[i] = canonicalize(in[i]);
         }
-        return azimuth;
     }
     
     /**
@@ -0,0 +1,127 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the distances and azimuths from one observer to many points at once.
+ *
+ * The points are given as two arrays of longitudes and latitudes in radians, and the results
+ * are the same as those of GeoPoint.distanceTo and GeoPoint.azimuthTo, the trigonometric
+ * functions of the observer being computed only once. Large inputs can be split in chunks
+ * computed in parallel by the threads of the common fork/join pool.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class GeoKernels {
+    private final static int CHUNK_SIZE = 4096;
+
+    private GeoKernels() {}
+
+    /**
+     * Computes the distances in meters from the observer to the points into out.
+     *
+     * @param observer observer
+     * @param lons longitudes of the points, in radians
+     * @param lats latitudes of the points, in radians
+     * @param out array receiving the distances
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static void distances(GeoPoint observer, double[] lons, double[] lats, double[] out) {
+        distancesAndAzimuths(observer, lons, lats, out, null, false);
+    }
+
+    /**
+     * Same as distances(observer, lons, lats, out), possibly in parallel.
+     *
+     * @param parallel whether the points are processed in parallel
+     */
+    public static void distances(GeoPoint observer, double[] lons, double[] lats, double[] out, boolean parallel) {
+        distancesAndAzimuths(observer, lons, lats, out, null, parallel);
+    }
+
+    /**
+     * Computes the canonical azimuths in radians of the points seen from the observer into out.
+     *
+     * @param observer observer
+     * @param lons longitudes of the points, in radians
+     * @param lats latitudes of the points, in radians
+     * @param out array receiving the azimuths
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static void azimuths(GeoPoint observer, double[] lons, double[] lats, double[] out) {
+        distancesAndAzimuths(observer, lons, lats, null, out, false);
+    }
+
+    /**
+     * Same as azimuths(observer, lons, lats, out), possibly in parallel.
+     *
+     * @param parallel whether the points are processed in parallel
+     */
+    public static void azimuths(GeoPoint observer, double[] lons, double[] lats, double[] out, boolean parallel) {
+        distancesAndAzimuths(observer, lons, lats, null, out, parallel);
+    }
+
+    /**
+     * Computes both the distances and the azimuths of the points seen from the observer,
+     * the cosine of the latitude of each point being computed once for both.
+     *
+     * @param observer observer
+     * @param lons longitudes of the points, in radians
+     * @param lats latitudes of the points, in radians
+     * @param distances array receiving the distances, or null if they aren't needed
+     * @param azimuths array receiving the azimuths, or null if they aren't needed
+     * @param parallel whether the points are processed in parallel
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static void distancesAndAzimuths(GeoPoint observer, double[] lons, double[] lats,
+            double[] distances, double[] azimuths, boolean parallel) {
+        Objects.requireNonNull(observer);
+        int count = lons.length;
+        checkArgument(lats.length == count
+                && (distances == null || distances.length == count)
+                && (azimuths == null || azimuths.length == count));
+
+        Observer o = new Observer(observer);
+        if (parallel && count > CHUNK_SIZE) {
+            IntStream.range(0, (count + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .forEach(c -> o.compute(lons, lats, distances, azimuths,
+                        c * CHUNK_SIZE, Math.min(count, (c + 1) * CHUNK_SIZE)));
+        } else {
+            o.compute(lons, lats, distances, azimuths, 0, count);
+        }
+    }
+
+    /**
+     * Trigonometric functions of the latitude of an observer.
+     */
+    private static final class Observer {
+        private final double longitude, latitude;
+        private final double cosLatitude, sinLatitude;
+
+        Observer(GeoPoint p) {
+            longitude = p.longitude();
+            latitude = p.latitude();
+            cosLatitude = Math.cos(latitude);
+            sinLatitude = Math.sin(latitude);
+        }
+
+        void compute(double[] lons, double[] lats, double[] distances, double[] azimuths, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                double dLon = longitude - lons[i];
+                double cosLat = Math.cos(lats[i]);
+                if (distances != null) {
+                    distances[i] = Distance.toMeters(2 * Math.asin(Math.sqrt(Math2.haversin(latitude - lats[i])
+                            + cosLatitude * cosLat * Math2.haversin(dLon))));
+                }
+                if (azimuths != null) {
+                    azimuths[i] = Azimuth.fromMath(Azimuth.canonicalize(Math.atan2(Math.sin(dLon) * cosLat,
+                            cosLatitude * Math.sin(lats[i]) - sinLatitude * cosLat * Math.cos(dLon))));
+                }
+            }
+        }
+    }
+}
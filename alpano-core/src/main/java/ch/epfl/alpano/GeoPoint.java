@@ -58,7 +58,7 @@ public final class GeoPoint {
      * @return the azimuth angle of that, vis-a-vis of this.
      */
     public double azimuthTo(GeoPoint that) {
-        return Azimuth.fromMath(Azimuth.canonicalize(Math.atan2(Math.sin((this.longitude()-that.longitude())*Math.cos(that.latitude())),
+        return Azimuth.fromMath(Azimuth.canonicalize(Math.atan2(Math.sin(this.longitude()-that.longitude())*Math.cos(that.latitude()),
                 (Math.cos(this.latitude())*Math.sin(that.latitude()) - 
                         Math.sin(this.latitude())*Math.cos(that.latitude())*Math.cos(this.longitude() - that.longitude())))));
     }
@@ -46,14 +46,23 @@ public interface Math2 {
     }
     
     /** 
-     * Computes the angular distance of two real input values
+     * Computes the angular distance of two real input values, in [-PI;PI[.
+     * Angles less than PI apart, the usual case, need no division.
      * 
      * @param a1 first angle
      * @param a2 second angle
      * @return angular distance between first and second angle
      */
     public static double angularDistance(double a1, double a2) {
-        return floorMod(a2 - a1 + Math.PI, PI2) - Math.PI;
+        double d = a2 - a1;
+        if (-Math.PI <= d && d < Math.PI) {
+            return d;
+        }
+        double r = (d + Math.PI) % PI2;
+        if (r < 0) {
+            r += PI2;
+        }
+        return r - Math.PI;
     }
     
     /**
@@ -98,10 +107,13 @@ public interface Math2 {
      */
     public static double firstIntervalContainingRoot(DoubleUnaryOperator f, double minX, double maxX, double dX) {   
         
+       double fLow = f.applyAsDouble(minX);
        for (double i = minX; i< maxX; i+=dX) {
-           if (f.applyAsDouble(i) * f.applyAsDouble(i+dX) <= 0){
+           double fHigh = f.applyAsDouble(i+dX);
+           if (fLow * fHigh <= 0){
                return i;
            }
+           fLow = fHigh;
        }
        
        return Double.POSITIVE_INFINITY; 
@@ -111,7 +123,8 @@ public interface Math2 {
      * Returns the smallest boundary of an interval containing a root of a given function f, the wanted interval 
      * is determined using dichotomy while it isn't smaller than epsilon (given minimal interval).
      * 
-     * The wanted interval is contained in the interval [x1;x2]
+     * The wanted interval is contained in the interval [x1;x2]. Each halving of the interval
+     * evaluates f once, its value at the lower bound being kept from the previous halving.
      * 
      * @param f given function
      * @param x1 lower bound
@@ -121,23 +134,24 @@ public interface Math2 {
      */
     public static double improveRoot(DoubleUnaryOperator f, double x1,
             double x2, double epsilon) {
-        checkArgument(f.applyAsDouble(x1) * f.applyAsDouble(x2) < 0);
-
-        if (x2 - x1 <= epsilon) {
-            return x1;
-        }
+        double f1 = f.applyAsDouble(x1);
+        checkArgument(f1 * f.applyAsDouble(x2) < 0);
 
-        double xm = (x1 + x2) / 2;
+        while (x2 - x1 > epsilon) {
+            double xm = (x1 + x2) / 2;
+            double fm = f.applyAsDouble(xm);
 
-        if (f.applyAsDouble(xm) == 0) {
-            return xm;
-        }
-
-        else if (f.applyAsDouble(xm) * f.applyAsDouble(x1) < 0) {
-            return improveRoot(f, x1, xm, epsilon);
-        }
-        else {
-            return improveRoot(f, xm, x2, epsilon);
+            if (fm == 0) {
+                return xm;
+            }
+            else if (fm * f1 < 0) {
+                x2 = xm;
+            }
+            else {
+                x1 = xm;
+                f1 = fm;
+            }
         }
+        return x1;
     }
 }
@@ -0,0 +1,230 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Represents a computed panorama : for each of its pixels, the distance, the position,
+ * the elevation and the slope of the point of the terrain it shows, stored in 
+ * float buffers (one per channel) row by row. The buffers wrap arrays on the heap,
+ * or regions of a file mapped in memory by PanoramaFile.
+ * Pixels showing no terrain have an infinite distance, and 0 in the other channels.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class Panorama {
+    private final PanoramaParameters parameters;
+    private final FloatBuffer distance;
+    private final FloatBuffer longitude;
+    private final FloatBuffer latitude;
+    private final FloatBuffer elevation;
+    private final FloatBuffer slope;
+
+    Panorama(PanoramaParameters parameters, FloatBuffer distance, FloatBuffer longitude, 
+            FloatBuffer latitude, FloatBuffer elevation, FloatBuffer slope) {
+        this.parameters = parameters;
+        this.distance = distance;
+        this.longitude = longitude;
+        this.latitude = latitude;
+        this.elevation = elevation;
+        this.slope = slope;
+    }
+
+    public PanoramaParameters parameters() {
+        return parameters;
+    }
+
+    private int index(int x, int y) {
+        if (!parameters.isValidSampleIndex(x, y)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return parameters.linearSampleIndex(x, y);
+    }
+
+    /**
+     * @return the distance in meters from the observer to the point shown by the pixel (x, y)
+     * @throws IndexOutOfBoundsException if the pixel is outside of the panorama
+     */
+    public float distanceAt(int x, int y) {
+        return distance.get(index(x, y));
+    }
+
+    /**
+     * @return the distance of the pixel (x, y), or d if it is outside of the panorama
+     */
+    public float distanceAt(int x, int y, float d) {
+        return parameters.isValidSampleIndex(x, y) ? distance.get(parameters.linearSampleIndex(x, y)) : d;
+    }
+
+    /**
+     * @return the longitude in radians of the point shown by the pixel (x, y)
+     * @throws IndexOutOfBoundsException if the pixel is outside of the panorama
+     */
+    public float longitudeAt(int x, int y) {
+        return longitude.get(index(x, y));
+    }
+
+    /**
+     * @return the latitude in radians of the point shown by the pixel (x, y)
+     * @throws IndexOutOfBoundsException if the pixel is outside of the panorama
+     */
+    public float latitudeAt(int x, int y) {
+        return latitude.get(index(x, y));
+    }
+
+    /**
+     * @return the elevation in meters of the point shown by the pixel (x, y)
+     * @throws IndexOutOfBoundsException if the pixel is outside of the panorama
+     */
+    public float elevationAt(int x, int y) {
+        return elevation.get(index(x, y));
+    }
+
+    /**
+     * @return the slope in radians of the point shown by the pixel (x, y)
+     * @throws IndexOutOfBoundsException if the pixel is outside of the panorama
+     */
+    public float slopeAt(int x, int y) {
+        return slope.get(index(x, y));
+    }
+
+    /**
+     * Builder of a panorama. Different pixels may be set concurrently by different threads,
+     * as long as build is called once all of them are done.
+     */
+    public static final class Builder {
+        private final PanoramaParameters parameters;
+        private final MappedByteBuffer[] regions;
+        private final Runnable completion;
+        private FloatBuffer distance;
+        private FloatBuffer longitude;
+        private FloatBuffer latitude;
+        private FloatBuffer elevation;
+        private FloatBuffer slope;
+
+        /**
+         * Builds a builder of a panorama with the given parameters, all of whose pixels
+         * initially show no terrain.
+         * 
+         * @param parameters parameters of the panorama
+         */
+        public Builder(PanoramaParameters parameters) {
+            this.parameters = Objects.requireNonNull(parameters);
+            this.regions = new MappedByteBuffer[0];
+            this.completion = () -> {};
+            int size = parameters.width() * parameters.height();
+            float[] distance = new float[size];
+            Arrays.fill(distance, Float.POSITIVE_INFINITY);
+            this.distance = FloatBuffer.wrap(distance);
+            longitude = FloatBuffer.wrap(new float[size]);
+            latitude = FloatBuffer.wrap(new float[size]);
+            elevation = FloatBuffer.wrap(new float[size]);
+            slope = FloatBuffer.wrap(new float[size]);
+        }
+
+        /**
+         * Builds a builder writing the channels into the given mapped regions, in the order 
+         * distance, longitude, latitude, elevation and slope, which are flushed to their file
+         * by build. The regions must already be initialized as those of a panorama showing 
+         * no terrain. The completion is run by build once the regions are flushed, e.g. to
+         * mark the file as complete.
+         */
+        Builder(PanoramaParameters parameters, MappedByteBuffer[] regions, FloatBuffer[] channels,
+                Runnable completion) {
+            this.parameters = Objects.requireNonNull(parameters);
+            this.regions = regions;
+            this.completion = completion;
+            distance = channels[0];
+            longitude = channels[1];
+            latitude = channels[2];
+            elevation = channels[3];
+            slope = channels[4];
+        }
+
+        /**
+         * @return the parameters of the panorama being built
+         */
+        public PanoramaParameters parameters() {
+            return parameters;
+        }
+
+        private int index(int x, int y) {
+            checkBuilding();
+            if (!parameters.isValidSampleIndex(x, y)) {
+                throw new IndexOutOfBoundsException();
+            }
+            return parameters.linearSampleIndex(x, y);
+        }
+
+        private void checkBuilding() {
+            if (distance == null) {
+                throw new IllegalStateException("panorama already built");
+            }
+        }
+
+        public Builder setDistanceAt(int x, int y, float distance) {
+            this.distance.put(index(x, y), distance);
+            return this;
+        }
+
+        public Builder setLongitudeAt(int x, int y, float longitude) {
+            this.longitude.put(index(x, y), longitude);
+            return this;
+        }
+
+        public Builder setLatitudeAt(int x, int y, float latitude) {
+            this.latitude.put(index(x, y), latitude);
+            return this;
+        }
+
+        public Builder setElevationAt(int x, int y, float elevation) {
+            this.elevation.put(index(x, y), elevation);
+            return this;
+        }
+
+        public Builder setSlopeAt(int x, int y, float slope) {
+            this.slope.put(index(x, y), slope);
+            return this;
+        }
+
+        /**
+         * @return the distance of the pixel (x, y) set so far
+         */
+        float distanceAt(int x, int y) {
+            return distance.get(index(x, y));
+        }
+
+        /**
+         * @return a read-only view of the panorama being built, which reflects the pixels
+         * set afterwards
+         */
+        Panorama view() {
+            checkBuilding();
+            return new Panorama(parameters, distance.asReadOnlyBuffer(), longitude.asReadOnlyBuffer(),
+                    latitude.asReadOnlyBuffer(), elevation.asReadOnlyBuffer(), slope.asReadOnlyBuffer());
+        }
+
+        /**
+         * Builds the panorama ; the builder cannot be used afterwards. If the builder writes
+         * into a file, its content is flushed to the storage device first.
+         * 
+         * @return the panorama
+         * @throws IllegalStateException if the panorama was already built
+         */
+        public Panorama build() {
+            checkBuilding();
+            for (MappedByteBuffer region : regions) {
+                region.force();
+            }
+            completion.run();
+            Panorama panorama = new Panorama(parameters, distance, longitude, latitude, elevation, slope);
+            distance = longitude = latitude = elevation = slope = null;
+            return panorama;
+        }
+    }
+}
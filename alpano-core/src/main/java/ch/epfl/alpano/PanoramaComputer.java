@@ -0,0 +1,416 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleFunction;
+import java.util.stream.IntStream;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.ElevationProfile;
+
+/**
+ * Computes panoramas : for each column, the terrain is sampled along one elevation profile, 
+ * and the ray of each pixel of the column is intersected with it.
+ * Columns are independent from each other and are computed in parallel.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class PanoramaComputer {
+    /**
+     * Coefficient of the atmospheric refraction, which bends rays towards the ground
+     */
+    public final static double REFRACTION_COEFFICIENT = 0.13;
+    
+    private final static double SEARCH_STEP = 64;
+    private final static double ROOT_PRECISION = 4;
+    private final static int PREVIEW_STRIDE = 8;
+    private final static double PREVIEW_PROFILE_STEP = 256;
+
+    private final ContinuousElevationModel dem;
+    private final double profileElevationStep;
+    private final RootSolver.Method rootMethod;
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Builds a computer of panoramas of the given DEM, whose profiles query the DEM
+     * at each evaluation and whose roots are improved by bisection.
+     * 
+     * @param dem continuous DEM
+     */
+    public PanoramaComputer(ContinuousElevationModel dem) {
+        this(dem, 0, RootSolver.Method.BISECTION);
+    }
+
+    /**
+     * Builds a computer of panoramas of the given DEM, whose profiles precompute their
+     * elevations every profileElevationStep meters : the root searches then interpolate 
+     * between these instead of querying the DEM.
+     * 
+     * @param dem continuous DEM
+     * @param profileElevationStep step of the precomputed elevations, in ]0;4096]
+     * @throws IllegalArgumentException if the step isn't in ]0;4096]
+     */
+    public PanoramaComputer(ContinuousElevationModel dem, double profileElevationStep) {
+        this(dem, checkProfileElevationStep(profileElevationStep), RootSolver.Method.BISECTION);
+    }
+
+    /**
+     * Builds a computer of panoramas of the given DEM, whose profiles precompute their
+     * elevations every profileElevationStep meters, or query the DEM if it is 0, and whose
+     * roots are improved by the given method.
+     * 
+     * @param dem continuous DEM
+     * @param profileElevationStep step of the precomputed elevations, in ]0;4096], or 0
+     * @param rootMethod method of improvement of the roots
+     * @throws IllegalArgumentException if the step is neither 0 nor in ]0;4096]
+     */
+    public PanoramaComputer(ContinuousElevationModel dem, double profileElevationStep, RootSolver.Method rootMethod) {
+        checkArgument(profileElevationStep == 0 || (0 < profileElevationStep && profileElevationStep <= 4096));
+        this.dem = Objects.requireNonNull(dem);
+        this.profileElevationStep = profileElevationStep;
+        this.rootMethod = Objects.requireNonNull(rootMethod);
+    }
+
+    private static double checkProfileElevationStep(double profileElevationStep) {
+        checkArgument(0 < profileElevationStep && profileElevationStep <= 4096);
+        return profileElevationStep;
+    }
+
+    /**
+     * @return the number of evaluations of ray functions done by this computer since its
+     * construction, i.e. the cost of its root searches in elevation lookups
+     */
+    public long evaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Computes the panorama of given parameters, its columns being computed in parallel 
+     * by the threads of the common fork/join pool. Each column builds its profile, which 
+     * shares its tables with the other ones and is discarded once the column is computed.
+     * 
+     * @param parameters parameters of the panorama
+     * @return the panorama
+     */
+    public Panorama computePanorama(PanoramaParameters parameters) {
+        return computePanorama(new Panorama.Builder(parameters));
+    }
+
+    /**
+     * Computes the panorama of the parameters of the given builder into it, e.g. into a file 
+     * created by PanoramaFile, and builds it.
+     * 
+     * @param builder builder of the panorama, none of whose pixels was set
+     * @return the panorama
+     */
+    public Panorama computePanorama(Panorama.Builder builder) {
+        PanoramaParameters parameters = builder.parameters();
+        DoubleFunction<ElevationProfile> profiles = profiles(parameters);
+        IntStream.range(0, parameters.width()).parallel()
+            .forEach(x -> computeColumn(parameters, x, profiles, builder));
+        return builder.build();
+    }
+
+    /**
+     * Returns the profiles followed by the columns of the panoramas of given parameters,
+     * which share their tables : they should be created once per panorama and given to
+     * computeColumn for each of its columns.
+     * 
+     * @param parameters parameters of the panorama
+     * @return the function mapping the azimuth of a column to its profile
+     */
+    public DoubleFunction<ElevationProfile> profiles(PanoramaParameters parameters) {
+        return profiles(parameters, profileElevationStep);
+    }
+
+    private DoubleFunction<ElevationProfile> profiles(PanoramaParameters parameters, double elevationStep) {
+        return ElevationProfile.profiles(dem, parameters.observerPosition(), parameters.maxDistance(), elevationStep);
+    }
+
+    /**
+     * Listener of the passes of a progressive computation.
+     */
+    @FunctionalInterface
+    public interface PassListener {
+        /**
+         * Called once each pass is finished, by the thread which started the computation.
+         * 
+         * @param preview view of the panorama being computed, whose pixels not computed yet
+         * show no terrain ; it is filled by the next passes, and must be copied if the 
+         * listener needs it to stay as it is
+         * @param stride distance between the computed columns and rows of the pass, 1 for the 
+         * final one, whose preview is the computed panorama
+         */
+        void passComputed(Panorama preview, int stride);
+    }
+
+    /**
+     * Computes the panorama of given parameters progressively, each pass being delivered to
+     * the listener : the first one computes every 8th column and row along coarse profiles, 
+     * whose elevations are precomputed every 256 meters, the next ones every 4th then
+     * every 2nd column and row, and the final one all the pixels.
+     * 
+     * Each preview pass only computes the pixels which the previous ones didn't. A pixel
+     * first looks for its hit between those of the pixels around it computed by the 
+     * previous pass, widened by one search step, and only searches the whole ray if it isn't
+     * there : a pixel of a preview can therefore miss a thin ridge in front of the hits of 
+     * its neighbours. The final pass computes all the pixels exactly as computePanorama 
+     * does, and gives the same panorama ; the previews cost the evaluations of their pixels
+     * in addition to those of computePanorama.
+     * 
+     * The passes write directly in the panorama being built, so that no other pixels 
+     * than those of the panorama are stored.
+     * 
+     * @param parameters parameters of the panorama
+     * @param listener listener of the passes
+     * @return the panorama, which is also the preview of the final pass
+     */
+    public Panorama computePanoramaProgressively(PanoramaParameters parameters, PassListener listener) {
+        Objects.requireNonNull(listener);
+        Progression progression = new Progression(new Panorama.Builder(parameters));
+        int width = parameters.width();
+        DoubleFunction<ElevationProfile> coarseProfiles = profiles(parameters, PREVIEW_PROFILE_STEP);
+        DoubleFunction<ElevationProfile> profiles = profiles(parameters);
+        for (int stride = PREVIEW_STRIDE; stride > 1; stride /= 2) {
+            int s = stride;
+            DoubleFunction<ElevationProfile> passProfiles = s == PREVIEW_STRIDE ? coarseProfiles : profiles;
+            IntStream.range(0, width).parallel()
+                .filter(x -> onGrid(x, s, width))
+                .forEach(x -> progression.computeColumn(x, s, passProfiles));
+            listener.passComputed(progression.builder.view(), s);
+        }
+        IntStream.range(0, width).parallel()
+            .forEach(x -> computeColumn(parameters, x, profiles, progression.builder));
+        Panorama panorama = progression.builder.build();
+        listener.passComputed(panorama, 1);
+        return panorama;
+    }
+
+    /**
+     * @return true iff the index i, among n, is on the grid of the given stride, 
+     * which contains the multiples of the stride and the last index
+     */
+    private static boolean onGrid(int i, int stride, int n) {
+        return i % stride == 0 || i == n - 1;
+    }
+
+    /**
+     * @return the greatest index on the grid of the given stride which isn't greater than i
+     */
+    private static int gridFloor(int i, int stride, int n) {
+        return i == n - 1 ? i : i - i % stride;
+    }
+
+    /**
+     * @return the least index on the grid of the given stride which isn't smaller than i
+     */
+    private static int gridCeil(int i, int stride, int n) {
+        return i % stride == 0 ? i : Math.min(n - 1, i - i % stride + stride);
+    }
+
+    /**
+     * Progressive computation of the previews of a panorama in its builder, the horizontal 
+     * distances of the hits of the computed pixels being deduced from their distances to 
+     * bracket the hits of the next passes.
+     */
+    private final class Progression {
+        private final Panorama.Builder builder;
+        private final PanoramaParameters parameters;
+        private final int width, height;
+
+        Progression(Panorama.Builder builder) {
+            this.builder = builder;
+            this.parameters = builder.parameters();
+            this.width = parameters.width();
+            this.height = parameters.height();
+        }
+
+        private boolean onGrid(int x, int y, int stride) {
+            return PanoramaComputer.onGrid(x, stride, width) && PanoramaComputer.onGrid(y, stride, height);
+        }
+
+        /**
+         * @return true iff the pixel (x, y) is computed by the preview pass of given stride
+         */
+        private boolean computedBy(int x, int y, int stride) {
+            return stride == PREVIEW_STRIDE
+                    ? onGrid(x, y, stride)
+                    : onGrid(x, y, stride) && !onGrid(x, y, 2 * stride);
+        }
+
+        /**
+         * Computes the pixels of the column x computed by the preview pass of given stride,
+         * along the profile of the column given by the profiles of the pass.
+         */
+        void computeColumn(int x, int stride, DoubleFunction<ElevationProfile> profiles) {
+            boolean coarse = stride == PREVIEW_STRIDE;
+            ElevationProfile profile = profiles.apply(parameters.azimuthForX(x));
+            RootSolver solver = new RootSolver(rootMethod);
+            double maxX = parameters.maxDistance() - SEARCH_STEP;
+            double lowerBound = 0;
+
+            for (int y = height - 1; y >= 0; --y) {
+                if (!computedBy(x, y, stride)) {
+                    double hit = coarse ? Double.POSITIVE_INFINITY : hit(x, y);
+                    if (hit != Double.POSITIVE_INFINITY) {
+                        // the hit of a pixel computed before bounds those of the rays above it
+                        lowerBound = Math.max(lowerBound, Math.min(maxX, hit - SEARCH_STEP));
+                    }
+                    continue;
+                }
+                double altitude = parameters.altitudeForY(y);
+                RayToGroundDistance f = rayToGroundDistance(profile, parameters.observerElevation(), Math.tan(altitude));
+
+                double interval;
+                int s = 2 * stride;
+                double to = coarse ? Double.POSITIVE_INFINITY : bracketTo(x, y, s);
+                double from = to;
+                if (to != Double.POSITIVE_INFINITY) {
+                    to = Math.min(maxX, to);
+                    from = Math.max(lowerBound, bracketFrom(x, y, s));
+                }
+                if (from <= to && to != Double.POSITIVE_INFINITY) {
+                    // the bracket first, then the rest of the ray, without searching the bracket again
+                    interval = solver.firstIntervalContainingRoot(f, from, to, SEARCH_STEP);
+                    if (interval == Double.POSITIVE_INFINITY && lowerBound < from) {
+                        interval = solver.firstIntervalContainingRoot(f, lowerBound, from, SEARCH_STEP);
+                    }
+                    if (interval == Double.POSITIVE_INFINITY) {
+                        interval = solver.firstIntervalContainingRoot(f, to, maxX, SEARCH_STEP);
+                    }
+                } else {
+                    interval = solver.firstIntervalContainingRoot(f, lowerBound, maxX, SEARCH_STEP);
+                }
+                if (interval == Double.POSITIVE_INFINITY) {
+                    // the rays above don't hit anything after lowerBound either
+                    break;
+                }
+                lowerBound = interval;
+                double root = solver.improveRoot(f, interval, interval + SEARCH_STEP, ROOT_PRECISION);
+
+                builder.setDistanceAt(x, y, (float) (root / Math.cos(altitude)))
+                    .setLongitudeAt(x, y, (float) profile.longitudeAt(root))
+                    .setLatitudeAt(x, y, (float) profile.latitudeAt(root))
+                    .setElevationAt(x, y, (float) profile.elevationAt(root))
+                    .setSlopeAt(x, y, (float) profile.slopeAt(root));
+            }
+            evaluations.add(solver.evaluations());
+        }
+
+        /**
+         * @return the horizontal distance of the hit of the pixel (x, y), or infinity if 
+         * it hits nothing
+         */
+        private double hit(int x, int y) {
+            return builder.distanceAt(x, y) * Math.cos(parameters.altitudeForY(y));
+        }
+
+        /**
+         * @return the smallest hit of the pixels around (x, y) on the grid of the given 
+         * stride, minus one search step
+         */
+        private double bracketFrom(int x, int y, int stride) {
+            int x0 = gridFloor(x, stride, width), x1 = gridCeil(x, stride, width);
+            int y0 = gridFloor(y, stride, height), y1 = gridCeil(y, stride, height);
+            double min = Math.min(Math.min(hit(x0, y0), hit(x1, y0)), Math.min(hit(x0, y1), hit(x1, y1)));
+            return Math.max(0, min - SEARCH_STEP);
+        }
+
+        /**
+         * @return the greatest hit of the pixels around (x, y) on the grid of the given 
+         * stride, plus one search step, or infinity if one of them hits nothing
+         */
+        private double bracketTo(int x, int y, int stride) {
+            int x0 = gridFloor(x, stride, width), x1 = gridCeil(x, stride, width);
+            int y0 = gridFloor(y, stride, height), y1 = gridCeil(y, stride, height);
+            return Math.max(Math.max(hit(x0, y0), hit(x1, y0)), Math.max(hit(x0, y1), hit(x1, y1))) + SEARCH_STEP;
+        }
+    }
+
+    /**
+     * Computes the pixels of the column x of the panorama being built.
+     * 
+     * The rows are computed from the bottom one up : a ray cannot hit the terrain before
+     * the hit of the ray just below it, so the search of each row starts at the interval
+     * where the previous one found its root, and the whole column is one forward sweep
+     * along the profile. Once a ray hits nothing, neither do the ones above it, and their
+     * pixels are set as showing no terrain.
+     * 
+     * The tables of the profile of the column are computed for it alone : computing 
+     * several columns of a panorama is cheaper with the profiles given by profiles.
+     * 
+     * @param parameters parameters of the panorama
+     * @param x index of the column
+     * @param builder builder of the panorama, whose other columns aren't modified
+     */
+    public void computeColumn(PanoramaParameters parameters, int x, Panorama.Builder builder) {
+        computeColumn(parameters, x, profiles(parameters), builder);
+    }
+
+    /**
+     * Same as computeColumn(parameters, x, builder), along the profile of the column given
+     * by profiles.
+     * 
+     * @param parameters parameters of the panorama
+     * @param x index of the column
+     * @param profiles profiles of the columns of the panorama, given by profiles(parameters)
+     * @param builder builder of the panorama, whose other columns aren't modified
+     */
+    public void computeColumn(PanoramaParameters parameters, int x, DoubleFunction<ElevationProfile> profiles,
+            Panorama.Builder builder) {
+        computeColumn(parameters, x, profiles.apply(parameters.azimuthForX(x)), builder);
+    }
+
+    /**
+     * Computes the pixels of the column x of the panorama being built, along the given
+     * profile of the column.
+     */
+    private void computeColumn(PanoramaParameters parameters, int x, ElevationProfile profile, Panorama.Builder builder) {
+        RootSolver solver = new RootSolver(rootMethod);
+        double maxX = parameters.maxDistance() - SEARCH_STEP;
+        double lowerBound = 0;
+        
+        for (int y = parameters.height() - 1; y >= 0; --y) {
+            double altitude = parameters.altitudeForY(y);
+            RayToGroundDistance f = rayToGroundDistance(profile, parameters.observerElevation(), Math.tan(altitude));
+            
+            lowerBound = solver.firstIntervalContainingRoot(f, lowerBound, maxX, SEARCH_STEP);
+            if (lowerBound == Double.POSITIVE_INFINITY) {
+                // the builder may hold a preview of these pixels
+                for (int above = y; above >= 0; --above) {
+                    builder.setDistanceAt(x, above, Float.POSITIVE_INFINITY)
+                        .setLongitudeAt(x, above, 0)
+                        .setLatitudeAt(x, above, 0)
+                        .setElevationAt(x, above, 0)
+                        .setSlopeAt(x, above, 0);
+                }
+                break;
+            }
+            double root = solver.improveRoot(f, lowerBound, lowerBound + SEARCH_STEP, ROOT_PRECISION);
+            
+            builder.setDistanceAt(x, y, (float) (root / Math.cos(altitude)))
+                .setLongitudeAt(x, y, (float) profile.longitudeAt(root))
+                .setLatitudeAt(x, y, (float) profile.latitudeAt(root))
+                .setElevationAt(x, y, (float) profile.elevationAt(root))
+                .setSlopeAt(x, y, (float) profile.slopeAt(root));
+        }
+        evaluations.add(solver.evaluations());
+    }
+
+    /**
+     * Returns the function giving, for a horizontal distance x from the observer, 
+     * the height of the ray above the terrain of the profile, taking into account 
+     * the curvature of the Earth and the refraction of the atmosphere.
+     * 
+     * @param profile elevation profile followed by the ray
+     * @param ray0 elevation of the ray at the observer, in meters
+     * @param raySlope slope of the ray (tangent of its altitude)
+     * @return the function
+     */
+    public static RayToGroundDistance rayToGroundDistance(ElevationProfile profile, double ray0, double raySlope) {
+        return new RayToGroundDistance(profile, ray0, raySlope);
+    }
+}
@@ -0,0 +1,233 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleFunction;
+
+import ch.epfl.alpano.dem.ElevationProfile;
+
+/**
+ * Computes the columns of panoramas in parallel, on a fork/join pool.
+ *
+ * The cost of a column varies a lot, from a few evaluations for one pointing at a lake
+ * to thousands for one pointing into mountains, so the columns aren't split in chunks
+ * of fixed size : a task keeps splitting its range in two while the other threads lack
+ * work (i.e. while few of its forked halves are waiting to be stolen), and idle threads
+ * steal the halves left. Each job can be cancelled, and reports its progress
+ * in columns computed per second.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class PanoramaExecutor {
+    private final static int MAX_SURPLUS_TASKS = 3;
+    private final static int DEFAULT_MIN_CHUNK = 4;
+
+    private final PanoramaComputer computer;
+    private final ForkJoinPool pool;
+    private final int minChunk;
+
+    /**
+     * Listener of the progress of a job. It is called by the threads of the pool
+     * each time they finish a chunk of columns, and must therefore be thread-safe and fast.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param columnsDone number of columns computed so far
+         * @param columns number of columns of the panorama
+         * @param columnsPerSecond average number of columns computed per second since the start
+         */
+        void progress(int columnsDone, int columns, double columnsPerSecond);
+    }
+
+    /**
+     * Builds an executor of the given computer, using the common fork/join pool.
+     *
+     * @param computer computer of the columns
+     */
+    public PanoramaExecutor(PanoramaComputer computer) {
+        this(computer, ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK);
+    }
+
+    /**
+     * Builds an executor of the given computer, using the given pool and never splitting
+     * ranges of columns smaller than minChunk.
+     *
+     * @param computer computer of the columns
+     * @param pool pool whose threads compute the columns
+     * @param minChunk minimum number of columns of a task, strictly positive
+     * @throws IllegalArgumentException if minChunk isn't strictly positive
+     */
+    public PanoramaExecutor(PanoramaComputer computer, ForkJoinPool pool, int minChunk) {
+        checkArgument(minChunk > 0);
+        this.computer = Objects.requireNonNull(computer);
+        this.pool = Objects.requireNonNull(pool);
+        this.minChunk = minChunk;
+    }
+
+    /**
+     * Starts the computation of the panorama of given parameters.
+     *
+     * @param parameters parameters of the panorama
+     * @param listener listener of the progress, or null
+     * @return the job computing the panorama
+     */
+    public Job submit(PanoramaParameters parameters, ProgressListener listener) {
+        Job job = new Job(parameters, listener);
+        pool.execute(job.root);
+        return job;
+    }
+
+    /**
+     * Computes the panorama of given parameters, waiting for its end.
+     *
+     * @param parameters parameters of the panorama
+     * @return the panorama
+     */
+    public Panorama compute(PanoramaParameters parameters) {
+        Job job = new Job(parameters, null);
+        pool.invoke(job.root);
+        return job.builder.build();
+    }
+
+    /**
+     * Computation of one panorama.
+     */
+    public final class Job {
+        private final PanoramaParameters parameters;
+        private final ProgressListener listener;
+        private final Panorama.Builder builder;
+        private final DoubleFunction<ElevationProfile> profiles;
+        private final Columns root;
+        private final AtomicInteger columnsDone = new AtomicInteger();
+        private final long startTime = System.nanoTime();
+        private volatile boolean cancelled;
+        private volatile long endTime;
+        private Panorama panorama;
+
+        private Job(PanoramaParameters parameters, ProgressListener listener) {
+            this.parameters = Objects.requireNonNull(parameters);
+            this.listener = listener;
+            this.builder = new Panorama.Builder(parameters);
+            this.profiles = computer.profiles(parameters);
+            this.root = new Columns(this, 0, parameters.width());
+        }
+
+        /**
+         * Stops the job as soon as possible : the columns being computed are finished,
+         * and no other is started.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * @return true iff the job was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return true iff the job is finished, i.e. completed or stopped after its cancellation
+         */
+        public boolean isDone() {
+            return root.isDone();
+        }
+
+        /**
+         * @return the number of columns computed so far
+         */
+        public int columnsDone() {
+            return columnsDone.get();
+        }
+
+        /**
+         * @return the average number of columns computed per second since the start of the job
+         * until now, or until its end if it is done
+         */
+        public double columnsPerSecond() {
+            long end = endTime != 0 ? endTime : System.nanoTime();
+            return columnsDone.get() / Math.max(1e-9, (end - startTime) * 1e-9);
+        }
+
+        /**
+         * Waits for the end of the job and returns the panorama.
+         *
+         * @return the panorama
+         * @throws CancellationException if the job was cancelled before its end
+         * @throws InterruptedException if the waiting thread is interrupted
+         * @throws ExecutionException if the computation of a column failed
+         */
+        public synchronized Panorama get() throws InterruptedException, ExecutionException {
+            root.get();
+            if (columnsDone.get() < parameters.width()) {
+                throw new CancellationException();
+            }
+            if (panorama == null) {
+                panorama = builder.build();
+            }
+            return panorama;
+        }
+
+        private void columnsComputed(int count) {
+            int done = columnsDone.addAndGet(count);
+            if (done == parameters.width()) {
+                endTime = System.nanoTime();
+            }
+            if (listener != null) {
+                listener.progress(done, parameters.width(), columnsPerSecond());
+            }
+        }
+    }
+
+    /**
+     * Task computing the columns [from;to[ of a job. The halves it forks are linked
+     * through nextForked, to be joined once its own columns are computed.
+     */
+    @SuppressWarnings("serial")
+    private final class Columns extends RecursiveAction {
+        private final Job job;
+        private final int from;
+        private final int to;
+        private Columns nextForked;
+
+        Columns(Job job, int from, int to) {
+            this.job = job;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int end = to;
+            Columns forked = null;
+            while (end - from > minChunk && ForkJoinTask.getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+                int middle = (from + end) >>> 1;
+                Columns right = new Columns(job, middle, end);
+                right.nextForked = forked;
+                forked = right;
+                right.fork();
+                end = middle;
+            }
+
+            int x = from;
+            while (x < end && !job.cancelled) {
+                computer.computeColumn(job.parameters, x++, job.profiles, job.builder);
+            }
+            job.columnsComputed(x - from);
+
+            for (; forked != null; forked = forked.nextForked) {
+                forked.join();
+            }
+        }
+    }
+}
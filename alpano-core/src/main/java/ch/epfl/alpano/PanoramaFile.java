@@ -0,0 +1,171 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Stores panoramas in files mapped in memory, so that large ones don't need to fit
+ * on the heap, can be read back without copying their pixels, and survive the process
+ * which computed them.
+ *
+ * A panorama file starts with a header of 64 bytes, in big-endian order :
+ * <pre>
+ *  0  int     magic number, "ALPP"
+ *  4  byte    version, 1
+ *  5  byte    byte order of the channels, 0 for big-endian and 1 for little-endian
+ *  6  byte    1 if the panorama was built, 0 while it is being computed
+ *  7  byte    unused
+ *  8  double  longitude of the observer, in radians
+ * 16  double  latitude of the observer, in radians
+ * 24  int     elevation of the observer, in meters
+ * 28  int     maximum distance, in meters
+ * 32  double  azimuth of the center, in radians
+ * 40  double  horizontal field of view, in radians
+ * 48  int     width
+ * 52  int     height
+ * 56  long    unused
+ * </pre>
+ * The five channels follow, in the order distance, longitude, latitude, elevation and slope,
+ * each being a region of width * height floats stored row by row in the byte order of the
+ * machine which created the file.
+ *
+ * A file is only marked as complete once all its channels are flushed to the storage device,
+ * so that a file whose computation was interrupted, e.g. by the end of the process, is never
+ * read back as a valid panorama.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class PanoramaFile {
+    private final static int MAGIC = 0x414C5050;
+    private final static byte VERSION = 1;
+    private final static int HEADER_SIZE = 64;
+    private final static int COMPLETE_OFFSET = 6;
+    private final static int CHANNELS = 5;
+
+    private PanoramaFile() {}
+
+    /**
+     * Creates a panorama file of given parameters, initially showing no terrain, and returns
+     * a builder writing its pixels directly into the file, e.g. through
+     * PanoramaComputer.computeColumn. The file is only marked as complete once the panorama
+     * is built.
+     *
+     * @param file file to create, replaced if it exists
+     * @param parameters parameters of the panorama
+     * @return the builder of the panorama
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if a channel of the panorama is larger than 2 GB
+     */
+    public static Panorama.Builder create(File file, PanoramaParameters parameters) throws IOException {
+        long channelSize = 4L * parameters.width() * parameters.height();
+        checkArgument(channelSize <= Integer.MAX_VALUE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 0 : 1))
+                .put((byte) 0)
+                .put((byte) 0)
+                .putDouble(parameters.observerPosition().longitude())
+                .putDouble(parameters.observerPosition().latitude())
+                .putInt(parameters.observerElevation())
+                .putInt(parameters.maxDistance())
+                .putDouble(parameters.centerAzimuth())
+                .putDouble(parameters.horizontalFieldOfView())
+                .putInt(parameters.width())
+                .putInt(parameters.height())
+                .putLong(0);
+        header.flip();
+
+        try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+            f.setLength(0);
+            // the channels are initially filled with zeros
+            f.setLength(HEADER_SIZE + CHANNELS * channelSize);
+            FileChannel c = f.getChannel();
+            while (header.hasRemaining()) {
+                c.write(header, header.position());
+            }
+
+            MappedByteBuffer[] regions = new MappedByteBuffer[CHANNELS];
+            FloatBuffer[] channels = new FloatBuffer[CHANNELS];
+            for (int i = 0; i < CHANNELS; ++i) {
+                regions[i] = c.map(MapMode.READ_WRITE, HEADER_SIZE + i * channelSize, channelSize);
+                channels[i] = regions[i].order(ByteOrder.nativeOrder()).asFloatBuffer();
+            }
+            FloatBuffer distance = channels[0];
+            for (int i = 0; i < distance.limit(); ++i) {
+                distance.put(i, Float.POSITIVE_INFINITY);
+            }
+            MappedByteBuffer headerRegion = c.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+            return new Panorama.Builder(parameters, regions, channels, () -> {
+                headerRegion.put(COMPLETE_OFFSET, (byte) 1);
+                headerRegion.force();
+            });
+        }
+    }
+
+    /**
+     * Maps the given panorama file read-only : the pixels of the panorama are read
+     * directly from the file.
+     *
+     * @param file panorama file
+     * @return the panorama
+     * @throws IOException if the file can't be read, isn't a valid panorama file or
+     * isn't complete
+     */
+    public static Panorama map(File file) throws IOException {
+        try (FileInputStream s = new FileInputStream(file)) {
+            FileChannel c = s.getChannel();
+            ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE);
+            while (b.hasRemaining() && c.read(b) >= 0) {}
+            if (b.hasRemaining()) {
+                throw new IOException("truncated header");
+            }
+            b.flip();
+            if (b.getInt() != MAGIC || b.get() != VERSION) {
+                throw new IOException("not a panorama file");
+            }
+            int order = b.get();
+            if (order != 0 && order != 1) {
+                throw new IOException("invalid header");
+            }
+            if (b.get() != 1) {
+                throw new IOException("incomplete panorama file");
+            }
+            b.get();
+            PanoramaParameters parameters;
+            try {
+                GeoPoint observer = new GeoPoint(b.getDouble(), b.getDouble());
+                int observerElevation = b.getInt();
+                int maxDistance = b.getInt();
+                parameters = new PanoramaParameters(observer, observerElevation,
+                        b.getDouble(), b.getDouble(), maxDistance, b.getInt(), b.getInt());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("invalid header", e);
+            }
+
+            long channelSize = 4L * parameters.width() * parameters.height();
+            if (channelSize > Integer.MAX_VALUE || c.size() < HEADER_SIZE + CHANNELS * channelSize) {
+                throw new IOException("truncated panorama file");
+            }
+            FloatBuffer[] channels = new FloatBuffer[CHANNELS];
+            for (int i = 0; i < CHANNELS; ++i) {
+                channels[i] = c.map(MapMode.READ_ONLY, HEADER_SIZE + i * channelSize, channelSize)
+                        .order(order == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN)
+                        .asFloatBuffer();
+            }
+            return new Panorama(parameters, channels[0], channels[1], channels[2], channels[3], channels[4]);
+        }
+    }
+}
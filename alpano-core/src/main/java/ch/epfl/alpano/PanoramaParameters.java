@@ -0,0 +1,174 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+
+/**
+ * Represents the parameters of a panorama : the position and elevation of its observer, 
+ * the direction and the field of view it covers, and the size in pixels of its image.
+ * Columns are ordered by increasing azimuth, rows by decreasing altitude, and the
+ * angle between two successive columns or rows is the same.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class PanoramaParameters {
+    private final GeoPoint observerPosition;
+    private final int observerElevation;
+    private final double centerAzimuth;
+    private final double horizontalFieldOfView;
+    private final int maxDistance;
+    private final int width;
+    private final int height;
+    private final double delta;
+
+    /**
+     * Builds the parameters of a panorama.
+     * 
+     * @param observerPosition position of the observer
+     * @param observerElevation elevation of the observer in meters
+     * @param centerAzimuth azimuth of the center of the panorama, canonical, in radians
+     * @param horizontalFieldOfView angle covered by the panorama, in ]0;2PI], in radians
+     * @param maxDistance distance in meters up to which the terrain is visible
+     * @param width width of the panorama in pixels
+     * @param height height of the panorama in pixels
+     * @throws IllegalArgumentException if one of the parameters isn't valid
+     */
+    public PanoramaParameters(GeoPoint observerPosition, int observerElevation, 
+            double centerAzimuth, double horizontalFieldOfView, int maxDistance, int width, int height) {
+        checkArgument(Azimuth.isCanonical(centerAzimuth));
+        checkArgument(0 < horizontalFieldOfView && horizontalFieldOfView <= Math2.PI2);
+        checkArgument(maxDistance > 0 && width > 1 && height > 0);
+        
+        this.observerPosition = Objects.requireNonNull(observerPosition);
+        this.observerElevation = observerElevation;
+        this.centerAzimuth = centerAzimuth;
+        this.horizontalFieldOfView = horizontalFieldOfView;
+        this.maxDistance = maxDistance;
+        this.width = width;
+        this.height = height;
+        this.delta = horizontalFieldOfView / (width - 1);
+    }
+
+    public GeoPoint observerPosition() {
+        return observerPosition;
+    }
+
+    public int observerElevation() {
+        return observerElevation;
+    }
+
+    public double centerAzimuth() {
+        return centerAzimuth;
+    }
+
+    public double horizontalFieldOfView() {
+        return horizontalFieldOfView;
+    }
+
+    /**
+     * @return the vertical angle covered by the panorama, in radians
+     */
+    public double verticalFieldOfView() {
+        return delta * (height - 1);
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Computes the canonical azimuth of the (possibly fractional) column x.
+     * 
+     * @param x index of the column, in [0;width-1]
+     * @return the azimuth in radians
+     * @throws IllegalArgumentException if x is outside of the panorama
+     */
+    public double azimuthForX(double x) {
+        checkArgument(0 <= x && x <= width - 1);
+        return Azimuth.canonicalize(centerAzimuth + (x - (width - 1) / 2d) * delta);
+    }
+
+    /**
+     * Computes the canonical azimuths of all the columns, in a new array.
+     * 
+     * @return the azimuths in radians, indexed by column
+     */
+    public double[] azimuths() {
+        double[] azimuths = new double[width];
+        for (int x = 0; x < width; ++x) {
+            azimuths[x] = centerAzimuth + (x - (width - 1) / 2d) * delta;
+        }
+        Azimuth.canonicalize(azimuths, azimuths);
+        return azimuths;
+    }
+
+    /**
+     * Computes the (possibly fractional) column of the given azimuth.
+     * 
+     * @param azimuth azimuth in radians
+     * @return the index of the column
+     * @throws IllegalArgumentException if the azimuth is outside of the field of view
+     */
+    public double xForAzimuth(double azimuth) {
+        double x = (width - 1) / 2d + Math2.angularDistance(centerAzimuth, azimuth) / delta;
+        checkArgument(0 <= x && x <= width - 1);
+        return x;
+    }
+
+    /**
+     * Computes the altitude of the (possibly fractional) row y.
+     * 
+     * @param y index of the row, in [0;height-1]
+     * @return the altitude in radians, positive above the horizon
+     * @throws IllegalArgumentException if y is outside of the panorama
+     */
+    public double altitudeForY(double y) {
+        checkArgument(0 <= y && y <= height - 1);
+        return ((height - 1) / 2d - y) * delta;
+    }
+
+    /**
+     * Computes the (possibly fractional) row of the given altitude.
+     * 
+     * @param altitude altitude in radians
+     * @return the index of the row
+     * @throws IllegalArgumentException if the altitude is outside of the field of view
+     */
+    public double yForAltitude(double altitude) {
+        double y = (height - 1) / 2d - altitude / delta;
+        checkArgument(0 <= y && y <= height - 1);
+        return y;
+    }
+
+    /**
+     * Checks if the given pixel is part of the panorama.
+     * 
+     * @param x index of the column
+     * @param y index of the row
+     * @return the result of the verification
+     */
+    public boolean isValidSampleIndex(int x, int y) {
+        return 0 <= x && x < width && 0 <= y && y < height;
+    }
+
+    /**
+     * Computes the index of the given pixel in arrays storing the panorama row by row.
+     * 
+     * @param x index of the column
+     * @param y index of the row
+     * @return the linear index of the pixel
+     */
+    public int linearSampleIndex(int x, int y) {
+        return y * width + x;
+    }
+}
@@ -0,0 +1,43 @@
+package ch.epfl.alpano;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+import ch.epfl.alpano.dem.ElevationProfile;
+
+/**
+ * Function giving, for a horizontal distance x from the observer, the height of a ray
+ * above the terrain of a profile, taking into account the curvature of the Earth and
+ * the refraction of the atmosphere.
+ *
+ * The class is final, so that the solver methods taking it rather than a
+ * DoubleUnaryOperator only ever call this applyAsDouble, which the JIT can inline.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class RayToGroundDistance implements DoubleUnaryOperator {
+    private final static double CURVATURE = (1 - PanoramaComputer.REFRACTION_COEFFICIENT) / (2 * Distance.EARTH_RADIUS);
+
+    private final ElevationProfile profile;
+    private final double ray0;
+    private final double raySlope;
+
+    /**
+     * Builds the function of a ray following the given profile.
+     *
+     * @param profile elevation profile followed by the ray
+     * @param ray0 elevation of the ray at the observer, in meters
+     * @param raySlope slope of the ray (tangent of its altitude)
+     */
+    public RayToGroundDistance(ElevationProfile profile, double ray0, double raySlope) {
+        this.profile = Objects.requireNonNull(profile);
+        this.ray0 = ray0;
+        this.raySlope = raySlope;
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        return ray0 + x * raySlope - profile.elevationAt(x) + CURVATURE * x * x;
+    }
+}
@@ -0,0 +1,219 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Iterative root solver, counting the evaluations of the functions it is given.
+ *
+ * Like Math2, it first looks for an interval containing a root, then improves it until
+ * it is no larger than a given precision. It never evaluates the function twice at the
+ * same point : the values at the bounds of the last interval found are kept and reused
+ * by the next improvement of that interval.
+ *
+ * The improvement either bisects the interval, giving exactly the results of Math2, or
+ * uses the Illinois variant of the regula falsi, which usually needs far fewer evaluations
+ * on smooth functions.
+ *
+ * A solver has a state, and must not be shared between threads.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class RootSolver {
+    /**
+     * Method used to improve an interval containing a root
+     */
+    public enum Method {
+        BISECTION, ILLINOIS
+    }
+
+    private final Method method;
+    private long evaluations;
+    private DoubleUnaryOperator lastF;
+    private double lastLow, lastHigh;
+    private double lastFLow, lastFHigh;
+
+    /**
+     * Builds a solver improving roots with the given method.
+     *
+     * @param method method of improvement
+     */
+    public RootSolver(Method method) {
+        this.method = Objects.requireNonNull(method);
+    }
+
+    /**
+     * @return the method of improvement of the solver
+     */
+    public Method method() {
+        return method;
+    }
+
+    /**
+     * @return the number of evaluations of functions done by the solver since its
+     * construction or its last reset
+     */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Resets the number of evaluations to 0.
+     */
+    public void resetEvaluations() {
+        evaluations = 0;
+    }
+
+    /**
+     * Same as Math2.firstIntervalContainingRoot, evaluating f once per step. The values
+     * of f at the bounds of the interval found are kept for the next call to improveRoot.
+     *
+     * @param f function
+     * @param minX lower bound of the search
+     * @param maxX upper bound of the search
+     * @param dX size of the intervals
+     * @return the lower bound of the first interval containing a root,
+     * or Double.POSITIVE_INFINITY if there is none
+     */
+    public double firstIntervalContainingRoot(DoubleUnaryOperator f, double minX, double maxX, double dX) {
+        double fLow = evaluate(f, minX);
+        for (double i = minX; i < maxX; i += dX) {
+            double fHigh = evaluate(f, i + dX);
+            if (fLow * fHigh <= 0) {
+                lastF = f;
+                lastLow = i;
+                lastHigh = i + dX;
+                lastFLow = fLow;
+                lastFHigh = fHigh;
+                return i;
+            }
+            fLow = fHigh;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Same as firstIntervalContainingRoot(DoubleUnaryOperator, ...), specialized for the
+     * functions of rays : this loop, which does most of the evaluations of a panorama, only
+     * calls RayToGroundDistance.applyAsDouble and stays monomorphic whatever the other
+     * functions given to the solver.
+     * 
+     * @param f function of a ray
+     * @param minX lower bound of the search
+     * @param maxX upper bound of the search
+     * @param dX size of the intervals
+     * @return the lower bound of the first interval containing a root,
+     * or Double.POSITIVE_INFINITY if there is none
+     */
+    public double firstIntervalContainingRoot(RayToGroundDistance f, double minX, double maxX, double dX) {
+        double fLow = f.applyAsDouble(minX);
+        int steps = 1;
+        for (double i = minX; i < maxX; i += dX, ++steps) {
+            double fHigh = f.applyAsDouble(i + dX);
+            if (fLow * fHigh <= 0) {
+                evaluations += steps + 1;
+                lastF = f;
+                lastLow = i;
+                lastHigh = i + dX;
+                lastFLow = fLow;
+                lastFHigh = fHigh;
+                return i;
+            }
+            fLow = fHigh;
+        }
+        evaluations += steps;
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the lower bound of an interval no larger than epsilon and contained in
+     * [x1;x2], containing a root of f. If the method finds an exact root, it is returned.
+     * Contrary to Math2.improveRoot, either bound can be a root itself, and is then returned.
+     *
+     * If [x1;x2] is the last interval of f found by firstIntervalContainingRoot, f isn't
+     * evaluated again at its bounds.
+     *
+     * @param f function
+     * @param x1 lower bound
+     * @param x2 upper bound
+     * @param epsilon precision
+     * @return the lower bound of the interval
+     * @throws IllegalArgumentException if f has the same sign, different from 0, at x1 and x2
+     */
+    public double improveRoot(DoubleUnaryOperator f, double x1, double x2, double epsilon) {
+        double f1, f2;
+        if (f == lastF && x1 == lastLow && x2 == lastHigh) {
+            f1 = lastFLow;
+            f2 = lastFHigh;
+        } else {
+            f1 = evaluate(f, x1);
+            f2 = evaluate(f, x2);
+        }
+        checkArgument(f1 * f2 <= 0);
+        if (f1 == 0) {
+            return x1;
+        } else if (f2 == 0) {
+            return x2;
+        }
+        return method == Method.BISECTION
+                ? bisect(f, x1, f1, x2, epsilon)
+                : illinois(f, x1, f1, x2, f2, epsilon);
+    }
+
+    private double bisect(DoubleUnaryOperator f, double x1, double f1, double x2, double epsilon) {
+        while (x2 - x1 > epsilon) {
+            double xm = (x1 + x2) / 2;
+            double fm = evaluate(f, xm);
+            if (fm == 0) {
+                return xm;
+            } else if (fm * f1 < 0) {
+                x2 = xm;
+            } else {
+                x1 = xm;
+                f1 = fm;
+            }
+        }
+        return x1;
+    }
+
+    /**
+     * Regula falsi whose estimate is kept at least epsilon/2 away from the bounds, so that
+     * the interval shrinks at each step, and in which the value at a bound kept twice in a
+     * row is halved, so that the other bound moves too.
+     */
+    private double illinois(DoubleUnaryOperator f, double x1, double f1, double x2, double f2, double epsilon) {
+        int keptSide = 0;
+        while (x2 - x1 > epsilon) {
+            double margin = Math.min(epsilon / 2, (x2 - x1) / 2);
+            double x = x1 - f1 * (x2 - x1) / (f2 - f1);
+            x = Math.max(x1 + margin, Math.min(x2 - margin, x));
+            double fx = evaluate(f, x);
+            if (fx == 0) {
+                return x;
+            } else if (fx * f1 < 0) {
+                x2 = x;
+                f2 = fx;
+                if (keptSide == -1) {
+                    f1 /= 2;
+                }
+                keptSide = -1;
+            } else {
+                x1 = x;
+                f1 = fx;
+                if (keptSide == 1) {
+                    f2 /= 2;
+                }
+                keptSide = 1;
+            }
+        }
+        return x1;
+    }
+
+    private double evaluate(DoubleUnaryOperator f, double x) {
+        ++evaluations;
+        return f.applyAsDouble(x);
+    }
+}
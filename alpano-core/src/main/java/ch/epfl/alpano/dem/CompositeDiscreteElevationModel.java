@@ -0,0 +1,89 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.Samples.checkSamples;
+
+import java.util.Objects;
+import ch.epfl.alpano.Interval2D;
+
+final class CompositeDiscreteElevationModel implements DiscreteElevationModel{
+    protected final DiscreteElevationModel dem1;
+    protected final DiscreteElevationModel dem2;
+    
+    public CompositeDiscreteElevationModel(DiscreteElevationModel dem1, DiscreteElevationModel dem2){
+      
+        this.dem1=Objects.requireNonNull(dem1);
+        this.dem2=Objects.requireNonNull(dem2);
+    }
+
+    @Override
+    public void close() throws Exception {
+        dem1.close();
+        dem2.close();
+    }
+
+    @Override
+    public Interval2D extent() {
+        return dem1.extent().union(dem2.extent());
+    }
+
+    @Override
+    public double elevationSample(int x, int y) {
+        if(dem1.extent().contains(x, y)){
+            return dem1.elevationSample(x, y);
+        } else if (dem2.extent().contains(x, y)){
+            return dem2.elevationSample(x, y);
+        } else {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, double[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int x = x0;
+        while (x < x0 + count) {
+            DiscreteElevationModel dem = demContaining(x, y);
+            int runEnd = runEnd(dem, x, y, x0 + count);
+            dem.elevationSamples(x, y, runEnd - x, out, offset + x - x0);
+            x = runEnd;
+        }
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, short[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int x = x0;
+        while (x < x0 + count) {
+            DiscreteElevationModel dem = demContaining(x, y);
+            int runEnd = runEnd(dem, x, y, x0 + count);
+            dem.elevationSamples(x, y, runEnd - x, out, offset + x - x0);
+            x = runEnd;
+        }
+    }
+
+    /**
+     * Computes the end (excluded) of the run of samples of row y starting at x
+     * that elevationSample reads from the given sub-DEM, given the end of the whole request.
+     */
+    private int runEnd(DiscreteElevationModel dem, int x, int y, int end) {
+        int runEnd = Math.min(end, dem.extent().iX().includedTo() + 1);
+        if (dem == dem2 && dem1.extent().iY().contains(y) && dem1.extent().iX().includedFrom() > x) {
+            runEnd = Math.min(runEnd, dem1.extent().iX().includedFrom());
+        }
+        return runEnd;
+    }
+
+    /**
+     * Returns the sub-DEM from which elevationSample reads the given sample.
+     */
+    private DiscreteElevationModel demContaining(int x, int y) {
+        if (dem1.extent().contains(x, y)) {
+            return dem1;
+        } else if (dem2.extent().contains(x, y)) {
+            return dem2;
+        } else {
+            throw new IllegalArgumentException();
+        }
+    }
+
+}
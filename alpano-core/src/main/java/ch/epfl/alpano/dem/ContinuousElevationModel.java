@@ -0,0 +1,213 @@
+package ch.epfl.alpano.dem;
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+
+import ch.epfl.alpano.Distance;
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Interval2D;
+import ch.epfl.alpano.Math2;
+
+/**
+ * 
+ * @author user
+ *
+ */
+public final class ContinuousElevationModel {
+    private final DiscreteElevationModel dem;
+    private final Interval2D extent;
+    private final DiscreteSlopeModel slopes;
+    public static final double DISTANCE_NORTH_SOUTH = Distance.toMeters(1/DiscreteElevationModel.SAMPLES_PER_RADIAN);
+
+    public ContinuousElevationModel(DiscreteElevationModel dem){
+        this.dem=Objects.requireNonNull(dem);
+        this.extent=dem.extent();
+        this.slopes=null;
+    }
+    
+    /**
+     * Builds a continuous DEM whose slopes are interpolated from the precomputed 
+     * slopes of the samples of the discrete DEM, instead of being computed at each query.
+     * 
+     * @param dem discrete DEM
+     * @param slopes slopes of the samples of dem
+     * @throws IllegalArgumentException if slopes wasn't computed for a DEM of same extent
+     */
+    public ContinuousElevationModel(DiscreteElevationModel dem, DiscreteSlopeModel slopes){
+        this.dem=Objects.requireNonNull(dem);
+        this.extent=dem.extent();
+        this.slopes=Objects.requireNonNull(slopes);
+        checkArgument(slopes.extent().equals(extent));
+    }
+    
+    /**
+     * Computes the elevation at the given point, by bilinear interpolation of the 
+     * four samples of the discrete DEM surrounding it.
+     * 
+     * @param p point
+     * @return elevation in meters
+     */
+    public double elevationAt(GeoPoint p) {
+        return elevationAt(p.longitude(), p.latitude());
+    }
+
+    /**
+     * Same as elevationAt(GeoPoint), without the need to allocate a point.
+     * 
+     * @param longitude longitude in radians
+     * @param latitude latitude in radians
+     * @return elevation in meters
+     */
+    public double elevationAt(double longitude, double latitude) {
+        double x = DiscreteElevationModel.sampleIndex(longitude);
+        double y = DiscreteElevationModel.sampleIndex(latitude);
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        
+        double alt00, alt10, alt01, alt11;
+        if (extent.contains(x0, y0) && extent.contains(x0 + 1, y0 + 1)) {
+            alt00 = dem.elevationSample(x0, y0);
+            alt10 = dem.elevationSample(x0 + 1, y0);
+            alt01 = dem.elevationSample(x0, y0 + 1);
+            alt11 = dem.elevationSample(x0 + 1, y0 + 1);
+        } else {
+            alt00 = discreteIndexElevationAt(x0, y0);
+            alt10 = discreteIndexElevationAt(x0 + 1, y0);
+            alt01 = discreteIndexElevationAt(x0, y0 + 1);
+            alt11 = discreteIndexElevationAt(x0 + 1, y0 + 1);
+        }
+        
+        return Math2.bilerp(alt00, alt10, alt01, alt11, x - x0, y - y0);
+    }
+
+    /**
+     * Computes the slope at the given point, by bilinear interpolation of the 
+     * slopes at the four samples of the discrete DEM surrounding it.
+     * 
+     * @param p point
+     * @return slope in radians
+     */
+    public double slopeAt(GeoPoint p){
+        return slopeAt(p.longitude(), p.latitude());
+    }
+
+    /**
+     * Same as slopeAt(GeoPoint), without the need to allocate a point.
+     * 
+     * @param longitude longitude in radians
+     * @param latitude latitude in radians
+     * @return slope in radians
+     */
+    public double slopeAt(double longitude, double latitude){
+        double x = DiscreteElevationModel.sampleIndex(longitude);
+        double y = DiscreteElevationModel.sampleIndex(latitude);
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        
+        if (slopes != null && extent.contains(x0, y0) && extent.contains(x0 + 1, y0 + 1)) {
+            return Math2.bilerp(slopes.slopeSample(x0, y0), slopes.slopeSample(x0 + 1, y0), 
+                    slopes.slopeSample(x0, y0 + 1), slopes.slopeSample(x0 + 1, y0 + 1), x - x0, y - y0);
+        }
+        
+        // The four slopes only depend on 8 distinct samples of the 3x3 neighbourhood of (x0,y0)
+        double alt00, alt10, alt20, alt01, alt11, alt21, alt02, alt12;
+        if (extent.contains(x0, y0) && extent.contains(x0 + 2, y0 + 2)) {
+            alt00 = dem.elevationSample(x0, y0);
+            alt10 = dem.elevationSample(x0 + 1, y0);
+            alt20 = dem.elevationSample(x0 + 2, y0);
+            alt01 = dem.elevationSample(x0, y0 + 1);
+            alt11 = dem.elevationSample(x0 + 1, y0 + 1);
+            alt21 = dem.elevationSample(x0 + 2, y0 + 1);
+            alt02 = dem.elevationSample(x0, y0 + 2);
+            alt12 = dem.elevationSample(x0 + 1, y0 + 2);
+        } else {
+            alt00 = discreteIndexElevationAt(x0, y0);
+            alt10 = discreteIndexElevationAt(x0 + 1, y0);
+            alt20 = discreteIndexElevationAt(x0 + 2, y0);
+            alt01 = discreteIndexElevationAt(x0, y0 + 1);
+            alt11 = discreteIndexElevationAt(x0 + 1, y0 + 1);
+            alt21 = discreteIndexElevationAt(x0 + 2, y0 + 1);
+            alt02 = discreteIndexElevationAt(x0, y0 + 2);
+            alt12 = discreteIndexElevationAt(x0 + 1, y0 + 2);
+        }
+        
+        double slope00 = slope(alt10 - alt00, alt01 - alt00);
+        double slope10 = slope(alt20 - alt10, alt11 - alt10);
+        double slope01 = slope(alt11 - alt01, alt02 - alt01);
+        double slope11 = slope(alt21 - alt11, alt12 - alt11);
+        
+        return Math2.bilerp(slope00, slope10, slope01, slope11, x - x0, y - y0);
+    }
+
+    /**
+     * Computes the gradient of the elevation at the given point, by bilinear interpolation
+     * of the differences of elevation between the four samples of the discrete DEM 
+     * surrounding it and their neighbours to the east and to the north, like slopeAt.
+     * Samples outside of the extent take the elevation of the nearest sample in it,
+     * so that the border of the DEM doesn't look like a cliff.
+     * 
+     * @param longitude longitude in radians
+     * @param latitude latitude in radians
+     * @param gradient array receiving the derivatives of the elevation to the east then
+     * to the north, in meters per meter
+     * @throws IndexOutOfBoundsException if the array has less than two elements
+     */
+    public void gradientAt(double longitude, double latitude, double[] gradient) {
+        double x = DiscreteElevationModel.sampleIndex(longitude);
+        double y = DiscreteElevationModel.sampleIndex(latitude);
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+
+        double alt00, alt10, alt20, alt01, alt11, alt21, alt02, alt12;
+        if (extent.contains(x0, y0) && extent.contains(x0 + 2, y0 + 2)) {
+            alt00 = dem.elevationSample(x0, y0);
+            alt10 = dem.elevationSample(x0 + 1, y0);
+            alt20 = dem.elevationSample(x0 + 2, y0);
+            alt01 = dem.elevationSample(x0, y0 + 1);
+            alt11 = dem.elevationSample(x0 + 1, y0 + 1);
+            alt21 = dem.elevationSample(x0 + 2, y0 + 1);
+            alt02 = dem.elevationSample(x0, y0 + 2);
+            alt12 = dem.elevationSample(x0 + 1, y0 + 2);
+        } else {
+            alt00 = nearestElevationAt(x0, y0);
+            alt10 = nearestElevationAt(x0 + 1, y0);
+            alt20 = nearestElevationAt(x0 + 2, y0);
+            alt01 = nearestElevationAt(x0, y0 + 1);
+            alt11 = nearestElevationAt(x0 + 1, y0 + 1);
+            alt21 = nearestElevationAt(x0 + 2, y0 + 1);
+            alt02 = nearestElevationAt(x0, y0 + 2);
+            alt12 = nearestElevationAt(x0 + 1, y0 + 2);
+        }
+
+        double dx = x - x0, dy = y - y0;
+        double dEast = Math2.bilerp(alt10 - alt00, alt20 - alt10, alt11 - alt01, alt21 - alt11, dx, dy);
+        double dNorth = Math2.bilerp(alt01 - alt00, alt11 - alt10, alt02 - alt01, alt12 - alt11, dx, dy);
+        gradient[0] = dEast / (DISTANCE_NORTH_SOUTH * Math.cos(latitude));
+        gradient[1] = dNorth / DISTANCE_NORTH_SOUTH;
+    }
+   
+    private double nearestElevationAt(int indexLong, int indexLat) {
+        int x = Math.max(extent.iX().includedFrom(), Math.min(extent.iX().includedTo(), indexLong));
+        int y = Math.max(extent.iY().includedFrom(), Math.min(extent.iY().includedTo(), indexLat));
+        return dem.elevationSample(x, y);
+    }
+
+    private double discreteIndexElevationAt(int indexLong, int indexLat) {
+        if (!extent.contains(indexLong, indexLat)) {
+            return 0;
+        }
+        return dem.elevationSample(indexLong, indexLat);
+    }
+    
+    /**
+     * Computes the slope of a sample, given the differences of elevation between 
+     * its neighbours to the east and to the north and itself.
+     * @param da difference of elevation with the eastern neighbour
+     * @param db difference of elevation with the northern neighbour
+     * @return slope in radians
+     */
+    static double slope(double da, double db){
+        return Math.acos(DISTANCE_NORTH_SOUTH/Math.sqrt(Math2.sq(da)+Math2.sq(db)+Math2.sq(DISTANCE_NORTH_SOUTH)));
+    }
+
+}
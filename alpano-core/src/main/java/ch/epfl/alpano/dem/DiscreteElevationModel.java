@@ -0,0 +1,93 @@
+package ch.epfl.alpano.dem;
+import static ch.epfl.alpano.Preconditions.checkArgument;
+import static ch.epfl.alpano.dem.Samples.checkSamples;
+
+import ch.epfl.alpano.Distance;
+import ch.epfl.alpano.Interval2D;
+
+public interface DiscreteElevationModel extends AutoCloseable {
+
+    public final static int SAMPLES_PER_DEGREE=3600;
+    public final double SAMPLES_PER_RADIAN = Math.toDegrees(1)*SAMPLES_PER_DEGREE;
+    
+    public static double sampleIndex(double angle){
+        return angle*SAMPLES_PER_RADIAN;
+    }
+    /**
+     * @return extent of a given bidimensionnal interval.
+     */
+    public abstract Interval2D extent();
+    
+    /**
+     * 
+     * @param x
+     * @param y
+     * @return
+     */
+    public abstract double elevationSample(int x, int y);
+    
+    /**
+     * Reads count successive samples of the row y, starting at x0, and stores them in out.
+     * Implementations reading a whole row at once should override this method, 
+     * which by default calls elevationSample once per sample.
+     * 
+     * @param x0 index of the first sample of the row
+     * @param y index of the row
+     * @param count number of samples to read
+     * @param out array in which the samples are stored
+     * @param offset index in out of the first sample
+     * @throws IllegalArgumentException if one of the samples is outside of the extent
+     * @throws IndexOutOfBoundsException if out is too small
+     */
+    public default void elevationSamples(int x0, int y, int count, double[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        for (int i = 0; i < count; ++i) {
+            out[offset + i] = elevationSample(x0 + i, y);
+        }
+    }
+    
+    /**
+     * Same as elevationSamples(x0, y, count, out, 0).
+     */
+    public default void elevationSamples(int x0, int y, int count, double[] out) {
+        elevationSamples(x0, y, count, out, 0);
+    }
+    
+    /**
+     * Reads count successive samples of the row y, starting at x0, and stores them 
+     * rounded to the nearest short in out.
+     * Implementations reading a whole row at once should override this method, 
+     * which by default calls elevationSample once per sample.
+     * 
+     * @param x0 index of the first sample of the row
+     * @param y index of the row
+     * @param count number of samples to read
+     * @param out array in which the samples are stored
+     * @param offset index in out of the first sample
+     * @throws IllegalArgumentException if one of the samples is outside of the extent
+     * @throws IndexOutOfBoundsException if out is too small
+     */
+    public default void elevationSamples(int x0, int y, int count, short[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        for (int i = 0; i < count; ++i) {
+            out[offset + i] = (short) Math.round(elevationSample(x0 + i, y));
+        }
+    }
+    
+    /**
+     * Same as elevationSamples(x0, y, count, out, 0).
+     */
+    public default void elevationSamples(int x0, int y, int count, short[] out) {
+        elevationSamples(x0, y, count, out, 0);
+    }
+    
+    public default DiscreteElevationModel union(DiscreteElevationModel that){
+        checkArgument(this.extent().isUnionableWith(that.extent()));
+        return new CompositeDiscreteElevationModel(this, that);
+        
+    }
+    
+    public static void main(String[] args) {    
+        System.out.println(Distance.toMeters(1/SAMPLES_PER_RADIAN));
+    }
+}
\ No newline at end of file
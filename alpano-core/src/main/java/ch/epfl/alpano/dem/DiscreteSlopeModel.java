@@ -0,0 +1,194 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Represents the slopes of all the samples of a discrete DEM, computed once
+ * and stored quantized on 16 bits, either on heap or memory-mapped from a sidecar file.
+ * The slope of a sample is the one computed by ContinuousElevationModel, 
+ * samples outside of the extent of the DEM having an elevation of 0.
+ * 
+ * A sidecar file starts with the extent of the DEM (four ints : the bounds of 
+ * iX then of iY) and a checksum of its samples (a long), followed by the quantized
+ * slopes, row by row from the south. The checksum makes sure that a sidecar file is
+ * recomputed when the samples of the DEM change, even if its extent doesn't.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class DiscreteSlopeModel {
+    private final static int CHECKSUM_OFFSET = 4 * Integer.BYTES;
+    private final static int HEADER_LENGTH = CHECKSUM_OFFSET + Long.BYTES;
+    private final static long FNV_OFFSET = 0xCBF29CE484222325L;
+    private final static long FNV_PRIME = 0x100000001B3L;
+    private final static double QUANTUM = (Math.PI / 2) / 0xFFFF;
+
+    private final Interval2D extent;
+    private final ShortBuffer slopes;
+    private final int originX;
+    private final int originY;
+    private final int width;
+
+    private DiscreteSlopeModel(Interval2D extent, ShortBuffer slopes) {
+        checkArgument(slopes.capacity() == extent.size());
+        this.extent = extent;
+        this.slopes = slopes;
+        this.originX = extent.iX().includedFrom();
+        this.originY = extent.iY().includedFrom();
+        this.width = extent.iX().size();
+    }
+
+    /**
+     * Computes on heap the slopes of all the samples of the given DEM.
+     * 
+     * @param dem discrete DEM
+     * @return the slopes of the DEM
+     */
+    public static DiscreteSlopeModel of(DiscreteElevationModel dem) {
+        Interval2D extent = dem.extent();
+        ShortBuffer slopes = ShortBuffer.allocate(extent.size());
+        computeSlopes(dem, slopes);
+        return new DiscreteSlopeModel(extent, slopes);
+    }
+
+    /**
+     * Maps the slopes of the given DEM from the given sidecar file, 
+     * which is first written if it doesn't exist or was computed for another extent or
+     * other samples. Checking the samples reads all of them once, which is much faster
+     * than computing their slopes.
+     * 
+     * @param dem discrete DEM
+     * @param sidecar file in which the slopes are cached
+     * @return the slopes of the DEM
+     * @throws IOException if the sidecar file cannot be read or written
+     */
+    public static DiscreteSlopeModel cached(DiscreteElevationModel dem, File sidecar) throws IOException {
+        Interval2D extent = dem.extent();
+        long length = HEADER_LENGTH + 2L * extent.size();
+        if (!(sidecar.length() == length && isSidecarOf(dem, sidecar))) {
+            write(dem, sidecar);
+        }
+        try (FileInputStream f = new FileInputStream(sidecar)) {
+            ShortBuffer slopes = f.getChannel()
+                    .map(MapMode.READ_ONLY, HEADER_LENGTH, length - HEADER_LENGTH).asShortBuffer();
+            return new DiscreteSlopeModel(extent, slopes);
+        }
+    }
+
+    private static boolean isSidecarOf(DiscreteElevationModel dem, File sidecar) throws IOException {
+        try (DataInputStream s = new DataInputStream(new FileInputStream(sidecar))) {
+            Interval1D iX = new Interval1D(s.readInt(), s.readInt());
+            Interval1D iY = new Interval1D(s.readInt(), s.readInt());
+            return dem.extent().equals(new Interval2D(iX, iY)) && s.readLong() == checksum(dem);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Computes the checksum of the samples of the DEM, read row by row from the south.
+     */
+    private static long checksum(DiscreteElevationModel dem) {
+        Interval2D extent = dem.extent();
+        int x0 = extent.iX().includedFrom();
+        double[] row = new double[extent.iX().size()];
+        long checksum = FNV_OFFSET;
+        for (int y = extent.iY().includedFrom(); y <= extent.iY().includedTo(); ++y) {
+            dem.elevationSamples(x0, y, row.length, row);
+            checksum = checksum(checksum, row, row.length);
+        }
+        return checksum;
+    }
+
+    /**
+     * Adds the count first samples of the given row to the checksum (FNV-1a on the bits
+     * of the samples).
+     */
+    private static long checksum(long checksum, double[] row, int count) {
+        for (int i = 0; i < count; ++i) {
+            checksum = (checksum ^ Double.doubleToLongBits(row[i])) * FNV_PRIME;
+        }
+        return checksum;
+    }
+
+    private static void write(DiscreteElevationModel dem, File sidecar) throws IOException {
+        Interval2D extent = dem.extent();
+        try (RandomAccessFile f = new RandomAccessFile(sidecar, "rw");
+                FileChannel c = f.getChannel()) {
+            f.setLength(0);
+            ByteBuffer buffer = c.map(MapMode.READ_WRITE, 0, HEADER_LENGTH + 2L * extent.size());
+            buffer.putInt(extent.iX().includedFrom()).putInt(extent.iX().includedTo())
+                .putInt(extent.iY().includedFrom()).putInt(extent.iY().includedTo());
+            buffer.position(HEADER_LENGTH);
+            long checksum = computeSlopes(dem, buffer.asShortBuffer());
+            buffer.putLong(CHECKSUM_OFFSET, checksum);
+        }
+    }
+
+    /**
+     * Computes the quantized slopes of all the samples of the DEM, two rows of samples
+     * being read at once with elevationSamples.
+     * 
+     * @return the checksum of the samples
+     */
+    private static long computeSlopes(DiscreteElevationModel dem, ShortBuffer slopes) {
+        Interval2D extent = dem.extent();
+        int x0 = extent.iX().includedFrom();
+        int width = extent.iX().size();
+        double[] row = new double[width + 1];
+        double[] northRow = new double[width];
+        
+        dem.elevationSamples(x0, extent.iY().includedFrom(), width, row);
+        long checksum = checksum(FNV_OFFSET, row, width);
+        for (int y = extent.iY().includedFrom(); y <= extent.iY().includedTo(); ++y) {
+            if (y < extent.iY().includedTo()) {
+                dem.elevationSamples(x0, y + 1, width, northRow);
+                checksum = checksum(checksum, northRow, width);
+            } else {
+                Arrays.fill(northRow, 0);
+            }
+            for (int i = 0; i < width; ++i) {
+                slopes.put(quantize(ContinuousElevationModel.slope(row[i + 1] - row[i], northRow[i] - row[i])));
+            }
+            System.arraycopy(northRow, 0, row, 0, width);
+        }
+        return checksum;
+    }
+
+    private static short quantize(double slope) {
+        return (short) Math.round(slope / QUANTUM);
+    }
+
+    /**
+     * @return the extent of the DEM whose slopes are stored
+     */
+    public Interval2D extent() {
+        return extent;
+    }
+
+    /**
+     * Returns the slope of the sample of given index, within 2.5e-5 radians.
+     * The sample must be in the extent, which isn't checked.
+     * 
+     * @param x index of the sample in longitude
+     * @param y index of the sample in latitude
+     * @return the slope in radians
+     */
+    public double slopeSample(int x, int y) {
+        return (slopes.get((y - originY) * width + x - originX) & 0xFFFF) * QUANTUM;
+    }
+}
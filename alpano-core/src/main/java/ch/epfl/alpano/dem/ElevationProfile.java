@@ -0,0 +1,221 @@
+package ch.epfl.alpano.dem;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+
+import ch.epfl.alpano.Azimuth;
+import ch.epfl.alpano.Distance;
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Math2;
+
+/**
+ * Represents the profile of the terrain along a great circle, starting at a given
+ * origin in a given direction. The positions are sampled every 4096 meters and stored
+ * in parallel arrays of longitudes and latitudes, positions in between being interpolated.
+ * Many profiles from the same origin are best built by the function returned by profiles(...).
+ * 
+ * Optionally, the elevations of the terrain can be precomputed at a given step,
+ * elevationAt then interpolating them instead of querying the DEM.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class ElevationProfile {
+    ContinuousElevationModel elevationModel;
+    GeoPoint origin;
+    double azimuth;
+    double length;
+    private final double[] longitudes;
+    private final double[] latitudes;
+    private final float[] elevations;
+    private final double elevationStep;
+    private final static int DELTA = 4096;
+
+    /**
+     * Builds a profile whose elevations are read from the DEM at each query.
+     * 
+     * @param elevationModel continuous DEM
+     * @param origin origin of the profile
+     * @param azimuth direction of the profile, canonical, in radians
+     * @param length length of the profile in meters
+     */
+    public ElevationProfile(ContinuousElevationModel elevationModel, GeoPoint origin, 
+            double azimuth, double length){
+        this(elevationModel, origin, azimuth, length, new DistanceTables(length), 0);
+    }
+    
+    /**
+     * Builds a profile whose elevations are computed once every elevationStep meters, 
+     * elevationAt then linearly interpolating them.
+     * 
+     * @param elevationModel continuous DEM
+     * @param origin origin of the profile
+     * @param azimuth direction of the profile, canonical, in radians
+     * @param length length of the profile in meters
+     * @param elevationStep distance in meters between two precomputed elevations, in ]0;4096]
+     */
+    public ElevationProfile(ContinuousElevationModel elevationModel, GeoPoint origin, 
+            double azimuth, double length, double elevationStep){
+        this(elevationModel, origin, azimuth, length, new DistanceTables(length), checkElevationStep(elevationStep));
+    }
+    
+    /**
+     * Builds a profile from the tables shared by all the profiles of same length, 
+     * precomputing its elevations iff elevationStep isn't 0.
+     */
+    private ElevationProfile(ContinuousElevationModel elevationModel, GeoPoint origin, 
+            double azimuth, double length, DistanceTables tables, double elevationStep){
+        checkArgument(Azimuth.isCanonical(azimuth) && length > 0);
+        
+        this.elevationModel=Objects.requireNonNull(elevationModel);
+        this.origin=Objects.requireNonNull(origin);
+        this.azimuth=azimuth;
+        this.length=length;
+        
+        longitudes = new double[tables.sin.length];
+        latitudes = new double[longitudes.length];
+        double a = Azimuth.toMath(azimuth);
+        double sina = Math.sin(a);
+        double cosa = Math.cos(a);
+        double sinLatitude = Math.sin(origin.latitude());
+        double cosLatitude = Math.cos(origin.latitude());
+        
+        for (int i=0; i<longitudes.length; i++){
+            double latitude = Math.asin(sinLatitude*tables.cos[i]+cosa*cosLatitude*tables.sin[i]);
+            double longitude = (origin.longitude() - Math.asin((sina*tables.sin[i])/Math.cos(latitude))+Math.PI)%Math2.PI2 - Math.PI;
+            longitudes[i] = longitude;
+            latitudes[i] = latitude;
+        }
+        
+        this.elevationStep = elevationStep;
+        if (elevationStep == 0) {
+            this.elevations = null;
+        } else {
+            this.elevations = new float[(int) Math.ceil(length / elevationStep) + 1];
+            for (int i = 0; i < elevations.length; ++i) {
+                double x = i * elevationStep;
+                int lowerBound = (int) (x/DELTA);
+                double t = x/DELTA - lowerBound;
+                elevations[i] = (float) elevationModel.elevationAt(lerpLongitude(lowerBound, t), lerpLatitude(lowerBound, t));
+            }
+        }
+    }
+    
+    /**
+     * Returns a function building the profiles of same origin and length in any direction,
+     * the sines and cosines of the distances of their sample points being computed once 
+     * for all of them. Each profile is built only when asked for, so that it can be 
+     * discarded once used : the function can be shared by the threads computing 
+     * the columns of a panorama.
+     * 
+     * @param elevationModel continuous DEM
+     * @param origin origin of the profiles
+     * @param length length of the profiles in meters
+     * @param elevationStep distance in meters between two precomputed elevations, in ]0;4096],
+     * or 0 if the profiles read their elevations from the DEM at each query
+     * @return the function mapping a canonical azimuth in radians to the profile in its direction
+     * @throws IllegalArgumentException if the length isn't strictly positive or the step 
+     * is neither 0 nor in ]0;4096]
+     */
+    public static DoubleFunction<ElevationProfile> profiles(ContinuousElevationModel elevationModel, 
+            GeoPoint origin, double length, double elevationStep) {
+        if (elevationStep != 0)
+            checkElevationStep(elevationStep);
+        Objects.requireNonNull(elevationModel);
+        Objects.requireNonNull(origin);
+        DistanceTables tables = new DistanceTables(length);
+        return azimuth -> new ElevationProfile(elevationModel, origin, azimuth, length, tables, elevationStep);
+    }
+    
+    private static double checkElevationStep(double elevationStep) {
+        checkArgument(0 < elevationStep && elevationStep <= DELTA);
+        return elevationStep;
+    }
+    
+    /**
+     * @return true iff the elevations of the profile are precomputed
+     */
+    public boolean hasPrecomputedElevations() {
+        return elevations != null;
+    }
+    
+    public double elevationAt(double x){
+        checkArgument(0 <= x && x <= length);
+        if (elevations != null) {
+            int i = (int) (x/elevationStep);
+            return i == elevations.length - 1 ? elevations[i] 
+                    : Math2.lerp(elevations[i], elevations[i+1], x/elevationStep - i);
+        }
+        int lowerBound = (int) x/DELTA;
+        double t = x/DELTA - lowerBound;
+        return elevationModel.elevationAt(lerpLongitude(lowerBound, t), lerpLatitude(lowerBound, t));
+        
+    }
+    public GeoPoint positionAt(double x){
+        return new GeoPoint(longitudeAt(x), latitudeAt(x));
+
+    }
+    
+    /**
+     * Same as positionAt(x).longitude(), without allocating a point.
+     */
+    public double longitudeAt(double x){
+        checkArgument(0 <= x && x <= length);
+        int lowerBound = (int) x/DELTA;
+        return lerpLongitude(lowerBound, x/DELTA - lowerBound);
+    }
+    
+    /**
+     * Same as positionAt(x).latitude(), without allocating a point.
+     */
+    public double latitudeAt(double x){
+        checkArgument(0 <= x && x <= length);
+        int lowerBound = (int) x/DELTA;
+        return lerpLatitude(lowerBound, x/DELTA - lowerBound);
+    }
+    
+    public double slopeAt(double x){
+        checkArgument(0<= x && x<=length);
+        int lowerBound = (int) x/DELTA;
+        double t = x/DELTA - lowerBound;
+        return elevationModel.slopeAt(lerpLongitude(lowerBound, t), lerpLatitude(lowerBound, t));
+        
+    }
+    
+    /**
+     * Interpolates the longitude between the sample points of index i and i+1.
+     */
+    private double lerpLongitude(int i, double t) {
+        return Math2.lerp(longitudes[i], longitudes[i+1], t);
+    }
+    
+    /**
+     * Interpolates the latitude between the sample points of index i and i+1.
+     */
+    private double lerpLatitude(int i, double t) {
+        return Math2.lerp(latitudes[i], latitudes[i+1], t);
+    }
+    
+    /**
+     * Sines and cosines of the angular distances of the sample points of a profile,
+     * which only depend on its length.
+     */
+    private static final class DistanceTables {
+        final double[] sin;
+        final double[] cos;
+        
+        DistanceTables(double length) {
+            checkArgument(length > 0);
+            sin = new double[(int)length/DELTA+5];
+            cos = new double[sin.length];
+            for (int i = 0; i < sin.length; ++i) {
+                double d = Distance.toRadians(i*DELTA);
+                sin[i] = Math.sin(d);
+                cos[i] = Math.cos(d);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ch.epfl.alpano.dem;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Objects;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+import static ch.epfl.alpano.Preconditions.checkArgument;
+import static ch.epfl.alpano.dem.Samples.checkSamples;
+
+/**
+ * Represents a discrete DEM, built with a HGT file.
+ *   
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class HgtDiscreteElevationModel implements DiscreteElevationModel {
+    /**
+     * Size in bytes of a HGT file : (3600+1)² samples of 2 bytes each
+     */
+    public final static long HGT_FILE_LENGTH = 2L*(SAMPLES_PER_DEGREE+1)*(SAMPLES_PER_DEGREE+1);
+    
+    private ShortBuffer fileArray;
+    private final Interval2D extent;
+    private final int originX;
+    private final int originY;
+    
+    /**
+     * Builds a DEM with the elevation values stored in the HGT file passed as argument. 
+     * These elevation values have to be stored in a specific order to be used afterwards,
+     * and the name must respect a specific format.
+     * The name of the file is parsed once, the origin of the tile being kept as sample indexes.
+     * 
+     * @param file HGT file containing elevation
+     * @throws IOException if the HGT file cannot be used
+     */
+    public HgtDiscreteElevationModel(File file) throws IOException {
+        Objects.requireNonNull(file);
+        checkArgument(file.exists());
+        
+        extent = extentOfName(file.getName());
+        checkArgument(file.length() == HGT_FILE_LENGTH);
+        
+        originX = extent.iX().includedFrom();
+        originY = extent.iY().includedFrom();
+        
+        try (FileInputStream f = new FileInputStream(file)) {
+            fileArray = f.getChannel().map(MapMode.READ_ONLY, 0, file.length()).asShortBuffer();
+            }
+    }
+
+    /**
+     * Checks that the given name respects the format of HGT files (e.g. N46E006.hgt)
+     * and computes the extent of the tile it represents.
+     * 
+     * @param name name of a HGT file
+     * @return the extent of the tile, in sample indexes
+     * @throws IllegalArgumentException if the name doesn't respect the format
+     */
+    static Interval2D extentOfName(String name) {
+        checkArgument(name.length() == 11);
+        checkArgument(name.charAt(0) == 'N' || name.charAt(0) == 'S');
+        checkArgument(name.charAt(3) == 'W' || name.charAt(3) == 'E');
+        checkArgument(name.substring(7).contentEquals(".hgt"));
+        
+        int latitude = Integer.parseInt(name.substring(1, 3));
+        int longitude = Integer.parseInt(name.substring(4, 7));
+        checkArgument(0 <= latitude && latitude <= 90);
+        checkArgument(0 <= longitude && longitude <= 180);
+        
+        latitude = name.charAt(0) == 'N' ? latitude : -latitude;
+        longitude = name.charAt(3) == 'E' ? longitude : -longitude;
+        int originX = longitude*SAMPLES_PER_DEGREE;
+        int originY = latitude*SAMPLES_PER_DEGREE;
+        return new Interval2D(new Interval1D(originX, originX + SAMPLES_PER_DEGREE), 
+                new Interval1D(originY, originY + SAMPLES_PER_DEGREE));
+    }
+    
+    @Override
+    public void close() throws Exception {
+        fileArray = null;
+    }
+
+    /**
+     * Returns the extent of the DEM as a two-dimensional interval, computed once at construction
+     * @returns two-dimensional interval representing the discrete DEM
+     */
+    @Override
+    public Interval2D extent() {
+        return extent;
+    }
+
+    /**
+     * Override of the elevationSample(...) method of the DiscreteElevationModel interface.
+     * Only uses the origin indexes computed at construction, so that no allocation is done.
+     */
+    @Override
+    public double elevationSample(int x, int y) {
+        return fileArray.get(x - originX
+                + (SAMPLES_PER_DEGREE - (y - originY))*(SAMPLES_PER_DEGREE+1));
+    }
+
+    /**
+     * Reads the samples directly from the row of the HGT file, 
+     * without going through elevationSample.
+     */
+    @Override
+    public void elevationSamples(int x0, int y, int count, double[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int first = x0 - originX + (SAMPLES_PER_DEGREE - (y - originY))*(SAMPLES_PER_DEGREE+1);
+        for (int i = 0; i < count; ++i) {
+            out[offset + i] = fileArray.get(first + i);
+        }
+    }
+
+    /**
+     * Copies the samples from the row of the HGT file with a bulk get.
+     */
+    @Override
+    public void elevationSamples(int x0, int y, int count, short[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int first = x0 - originX + (SAMPLES_PER_DEGREE - (y - originY))*(SAMPLES_PER_DEGREE+1);
+        ShortBuffer row = fileArray.duplicate();
+        row.position(first);
+        row.get(out, offset, count);
+    }
+
+    
+}
@@ -0,0 +1,256 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Represents a discrete DEM built with all the HGT files of a directory, 
+ * a tile being only mapped the first time one of its samples is read.
+ * At most a given number of tiles are mapped at once, the least recently used
+ * one being forgotten when another one has to be mapped.
+ * 
+ * The extent of the DEM is the bounding extent of the tiles found in the directory,
+ * samples located in a missing tile (e.g. over the sea) having an elevation of 0.
+ * 
+ * Reading samples is thread-safe, and takes no lock as long as the tile is already mapped :
+ * each thread remembers the slot of the last tile it read, the other mapped tiles being 
+ * found in a concurrent map. Only mapping a tile, and keeping the order of use of the tiles
+ * when a thread switches to another one, is done under a lock. The slot of a forgotten tile
+ * is emptied, so that the tile is unmapped by the garbage collector once the threads 
+ * reading it at that time are done, and not kept mapped by the threads which read it last.
+ * 
+ * Once closed, the DEM cannot be used anymore.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class LazyHgtDiscreteElevationModel implements DiscreteElevationModel {
+    private final File[] files;
+    private final int columns;
+    private final int rows;
+    private final int originX;
+    private final int originY;
+    private final Interval2D extent;
+    private final int maxMappedTiles;
+    private final ConcurrentHashMap<Integer, Slot> mappedTiles = new ConcurrentHashMap<>();
+    // slots of the mapped tiles, from the least recently used one, guarded by itself
+    private final LinkedHashMap<Integer, Slot> tilesInUseOrder;
+    private final ThreadLocal<Slot> lastSlot = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * Builds a DEM with the HGT files of the given directory, without mapping any of them.
+     * Files whose name doesn't respect the format of HGT files, or doesn't designate
+     * a valid tile (e.g. N95E200.hgt), are ignored.
+     * 
+     * @param directory directory containing the HGT files
+     * @param maxMappedTiles maximum number of tiles mapped at the same time
+     * @throws IllegalArgumentException if the directory doesn't exist, contains no HGT file, 
+     * or if maxMappedTiles isn't strictly positive
+     */
+    public LazyHgtDiscreteElevationModel(File directory, int maxMappedTiles) {
+        checkArgument(directory.isDirectory() && maxMappedTiles > 0);
+        
+        List<File> hgtFiles = new ArrayList<>();
+        List<Interval2D> extents = new ArrayList<>();
+        for (File file : directory.listFiles()) {
+            if (file.isFile() && file.getName().matches("[NS]\\d{2}[EW]\\d{3}\\.hgt")) {
+                Interval2D e;
+                try {
+                    e = HgtDiscreteElevationModel.extentOfName(file.getName());
+                } catch (IllegalArgumentException invalidTile) {
+                    continue;
+                }
+                hgtFiles.add(file);
+                extents.add(e);
+            }
+        }
+        checkArgument(!hgtFiles.isEmpty(), "no HGT file in " + directory);
+        
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (Interval2D e : extents) {
+            minX = Math.min(minX, e.iX().includedFrom());
+            minY = Math.min(minY, e.iY().includedFrom());
+            maxX = Math.max(maxX, e.iX().includedTo());
+            maxY = Math.max(maxY, e.iY().includedTo());
+        }
+        originX = minX;
+        originY = minY;
+        columns = (maxX - minX) / SAMPLES_PER_DEGREE;
+        rows = (maxY - minY) / SAMPLES_PER_DEGREE;
+        extent = new Interval2D(new Interval1D(minX, maxX), new Interval1D(minY, maxY));
+        
+        files = new File[columns * rows];
+        for (int i = 0; i < hgtFiles.size(); ++i) {
+            Interval2D e = extents.get(i);
+            files[index((e.iX().includedFrom() - originX) / SAMPLES_PER_DEGREE, 
+                    (e.iY().includedFrom() - originY) / SAMPLES_PER_DEGREE)] = hgtFiles.get(i);
+        }
+        
+        this.maxMappedTiles = maxMappedTiles;
+        tilesInUseOrder = new LinkedHashMap<>(2 * maxMappedTiles, 0.75f, true);
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+
+    /**
+     * Computes the index of the tile containing the given sample, or -1 if there is none. 
+     * Samples on the common border of two tiles are read from the east (resp. north) one 
+     * if it exists, from the west (resp. south) one otherwise.
+     */
+    private int tileIndex(int x, int y) {
+        int column = (x - originX) / SAMPLES_PER_DEGREE;
+        int row = (y - originY) / SAMPLES_PER_DEGREE;
+        boolean onBorderX = column > 0 && (x - originX) % SAMPLES_PER_DEGREE == 0;
+        boolean onBorderY = row > 0 && (y - originY) % SAMPLES_PER_DEGREE == 0;
+        
+        for (int dRow = 0; dRow <= (onBorderY ? 1 : 0); ++dRow) {
+            for (int dColumn = 0; dColumn <= (onBorderX ? 1 : 0); ++dColumn) {
+                int c = column - dColumn, r = row - dRow;
+                if (c < columns && r < rows && files[index(c, r)] != null) {
+                    return index(c, r);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the tile of given index, mapping it if it isn't mapped yet.
+     * 
+     * @throws IllegalStateException if the DEM is closed
+     */
+    private DiscreteElevationModel tile(int index) {
+        Slot last = lastSlot.get();
+        if (last != null && last.index == index) {
+            DiscreteElevationModel tile = last.tile;
+            if (tile != null) {
+                return tile;
+            }
+        }
+        Slot slot = mappedTiles.get(index);
+        DiscreteElevationModel tile = slot == null ? null : slot.tile;
+        if (tile == null) {
+            return map(index);
+        }
+        synchronized (tilesInUseOrder) {
+            tilesInUseOrder.get(index);
+        }
+        lastSlot.set(slot);
+        return tile;
+    }
+
+    /**
+     * Maps the tile of given index if no other thread did it meanwhile, forgetting the 
+     * least recently used one if needed, once the new one is mapped. The forgotten tile 
+     * isn't closed, as other threads may still be reading it : its slot is emptied, and
+     * it is unmapped by the garbage collector.
+     */
+    private DiscreteElevationModel map(int index) {
+        synchronized (tilesInUseOrder) {
+            if (closed) {
+                throw new IllegalStateException("DEM closed");
+            }
+            Slot slot = mappedTiles.get(index);
+            if (slot != null) {
+                tilesInUseOrder.get(index);
+            } else {
+                DiscreteElevationModel tile;
+                try {
+                    tile = new HgtDiscreteElevationModel(files[index]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (tilesInUseOrder.size() == maxMappedTiles) {
+                    Iterator<Slot> eldest = tilesInUseOrder.values().iterator();
+                    Slot evicted = eldest.next();
+                    eldest.remove();
+                    mappedTiles.remove(evicted.index);
+                    evicted.tile = null;
+                }
+                slot = new Slot(index, tile);
+                mappedTiles.put(index, slot);
+                tilesInUseOrder.put(index, slot);
+            }
+            lastSlot.set(slot);
+            return slot.tile;
+        }
+    }
+
+    /**
+     * Number of tiles currently mapped.
+     */
+    int mappedTileCount() {
+        synchronized (tilesInUseOrder) {
+            return tilesInUseOrder.size();
+        }
+    }
+
+    /**
+     * Closes the tiles currently mapped ; the DEM cannot be used anymore afterwards.
+     */
+    @Override
+    public void close() throws Exception {
+        synchronized (tilesInUseOrder) {
+            closed = true;
+            for (Slot slot : tilesInUseOrder.values()) {
+                DiscreteElevationModel tile = slot.tile;
+                slot.tile = null;
+                tile.close();
+            }
+            mappedTiles.clear();
+            tilesInUseOrder.clear();
+        }
+    }
+
+    @Override
+    public Interval2D extent() {
+        return extent;
+    }
+
+    /**
+     * Reads the sample from the tile containing it, mapping this tile if needed.
+     * 
+     * @throws UncheckedIOException if the tile cannot be mapped
+     * @throws IllegalStateException if the DEM is closed
+     */
+    @Override
+    public double elevationSample(int x, int y) {
+        checkArgument(extent.contains(x, y));
+        int index = tileIndex(x, y);
+        if (index < 0) {
+            if (closed) {
+                throw new IllegalStateException("DEM closed");
+            }
+            return 0;
+        }
+        return tile(index).elevationSample(x, y);
+    }
+
+    /**
+     * Slot of a mapped tile, emptied when the tile is forgotten.
+     */
+    private static final class Slot {
+        final int index;
+        volatile DiscreteElevationModel tile;
+
+        Slot(int index, DiscreteElevationModel tile) {
+            this.index = index;
+            this.tile = tile;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+import static ch.epfl.alpano.dem.Samples.checkSamples;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.Objects;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Represents a discrete DEM read from a packed tile, a format converted from HGT files.
+ *
+ * A packed tile starts with a header of 32 bytes, in big-endian order :
+ * <pre>
+ *  0  int    magic number, "ALPT"
+ *  4  byte   version, 1
+ *  5  byte   layout of the samples, 0 for RAW and 1 for DELTA
+ *  6  byte   byte order of the RAW samples, 0 for big-endian and 1 for little-endian
+ *  7  byte   unused
+ *  8  int    index of the westernmost samples
+ * 12  int    index of the southernmost samples
+ * 16  int    number of samples per side of the square tile
+ * 20  short  minimum elevation
+ * 22  short  maximum elevation
+ * 24  long   size in bytes of the samples following the header
+ * </pre>
+ * The rows follow, from north to south like in HGT files. A RAW tile stores each sample
+ * as a short, in the byte order of the machine which converted it, so that it can be mapped
+ * and read without swapping bytes. A DELTA tile stores the first sample of each row as a
+ * short, then the difference between each sample and the previous one as a zigzag-encoded
+ * variable-length integer : it is about half as large, but must be decoded into memory.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class PackedDiscreteElevationModel implements DiscreteElevationModel {
+    /**
+     * Layout of the samples of a packed tile
+     */
+    public enum Layout {
+        RAW, DELTA
+    }
+
+    private final static int MAGIC = 0x414C5054;
+    private final static byte VERSION = 1;
+    private final static int HEADER_SIZE = 32;
+
+    private ShortBuffer samples;
+    private final Interval2D extent;
+    private final int originX;
+    private final int northY;
+    private final int side;
+    private final short minElevation, maxElevation;
+
+    private PackedDiscreteElevationModel(ShortBuffer samples, Header h) {
+        this.samples = samples;
+        this.originX = h.originX;
+        this.northY = h.originY + h.side - 1;
+        this.side = h.side;
+        this.minElevation = h.min;
+        this.maxElevation = h.max;
+        this.extent = new Interval2D(new Interval1D(h.originX, h.originX + h.side - 1),
+                new Interval1D(h.originY, northY));
+    }
+
+    /**
+     * Loads all the samples of the given packed tile, of any layout, into an array.
+     *
+     * @param file packed tile
+     * @return the DEM
+     * @throws IOException if the file can't be read or isn't a packed tile
+     */
+    public static PackedDiscreteElevationModel load(File file) throws IOException {
+        try (FileInputStream s = new FileInputStream(file)) {
+            FileChannel c = s.getChannel();
+            Header h = Header.read(c);
+            MappedByteBuffer payload = c.map(MapMode.READ_ONLY, HEADER_SIZE, h.payloadSize);
+            short[] samples = new short[h.side * h.side];
+            if (h.layout == Layout.RAW) {
+                payload.order(h.order).asShortBuffer().get(samples);
+            } else {
+                decodeDeltas(payload, samples, h.side);
+            }
+            return new PackedDiscreteElevationModel(ShortBuffer.wrap(samples), h);
+        }
+    }
+
+    /**
+     * Maps the samples of the given RAW packed tile off-heap. If the tile was converted on a
+     * machine of the same byte order, they are read without swapping bytes.
+     *
+     * @param file packed tile of layout RAW
+     * @return the DEM
+     * @throws IOException if the file can't be read or isn't a packed tile
+     * @throws IllegalArgumentException if the layout of the tile isn't RAW
+     */
+    public static PackedDiscreteElevationModel map(File file) throws IOException {
+        try (FileInputStream s = new FileInputStream(file)) {
+            FileChannel c = s.getChannel();
+            Header h = Header.read(c);
+            checkArgument(h.layout == Layout.RAW);
+            MappedByteBuffer payload = c.map(MapMode.READ_ONLY, HEADER_SIZE, h.payloadSize);
+            return new PackedDiscreteElevationModel(payload.order(h.order).asShortBuffer(), h);
+        }
+    }
+
+    /**
+     * Converts the given HGT file into a packed tile of the given layout, RAW tiles
+     * being written in the byte order of this machine.
+     *
+     * @param hgtFile HGT file
+     * @param packedFile packed tile to write, replaced if it exists
+     * @param layout layout of the samples
+     * @throws IOException if a file can't be read or written
+     * @throws IllegalArgumentException if the HGT file is invalid
+     */
+    public static void convert(File hgtFile, File packedFile, Layout layout) throws IOException {
+        Objects.requireNonNull(layout);
+        int side = SAMPLES_PER_DEGREE + 1;
+        short[] samples = new short[side * side];
+        Interval2D extent;
+        try (HgtDiscreteElevationModel hgt = new HgtDiscreteElevationModel(hgtFile)) {
+            extent = hgt.extent();
+            for (int row = 0; row < side; ++row) {
+                hgt.elevationSamples(extent.iX().includedFrom(), extent.iY().includedTo() - row,
+                        side, samples, row * side);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+
+        short min = Short.MAX_VALUE, max = Short.MIN_VALUE;
+        for (short s : samples) {
+            min = (short) Math.min(min, s);
+            max = (short) Math.max(max, s);
+        }
+
+        ByteBuffer payload;
+        if (layout == Layout.RAW) {
+            payload = ByteBuffer.allocate(2 * samples.length).order(ByteOrder.nativeOrder());
+            payload.asShortBuffer().put(samples);
+        } else {
+            payload = encodeDeltas(samples, side);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) layout.ordinal())
+                .put((byte) (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 0 : 1))
+                .put((byte) 0)
+                .putInt(extent.iX().includedFrom())
+                .putInt(extent.iY().includedFrom())
+                .putInt(side)
+                .putShort(min)
+                .putShort(max)
+                .putLong(payload.limit());
+        header.flip();
+
+        try (RandomAccessFile f = new RandomAccessFile(packedFile, "rw")) {
+            f.setLength(0);
+            FileChannel c = f.getChannel();
+            while (header.hasRemaining()) {
+                c.write(header);
+            }
+            while (payload.hasRemaining()) {
+                c.write(payload);
+            }
+        }
+    }
+
+    /**
+     * Checks that the samples of the given DEMs are identical, row by row.
+     *
+     * @param dem1 first DEM, e.g. a HGT file
+     * @param dem2 second DEM, e.g. the packed tile converted from it
+     * @return true iff both DEMs have the same extent and the same samples
+     */
+    public static boolean samplesEqual(DiscreteElevationModel dem1, DiscreteElevationModel dem2) {
+        Interval2D extent = dem1.extent();
+        if (!extent.equals(dem2.extent())) {
+            return false;
+        }
+        int x0 = extent.iX().includedFrom(), count = extent.iX().size();
+        short[] row1 = new short[count], row2 = new short[count];
+        for (int y = extent.iY().includedFrom(); y <= extent.iY().includedTo(); ++y) {
+            dem1.elevationSamples(x0, y, count, row1);
+            dem2.elevationSamples(x0, y, count, row2);
+            if (!Arrays.equals(row1, row2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the minimum elevation of the tile, read from its header
+     */
+    public int minElevation() {
+        return minElevation;
+    }
+
+    /**
+     * @return the maximum elevation of the tile, read from its header
+     */
+    public int maxElevation() {
+        return maxElevation;
+    }
+
+    @Override
+    public void close() {
+        samples = null;
+    }
+
+    @Override
+    public Interval2D extent() {
+        return extent;
+    }
+
+    @Override
+    public double elevationSample(int x, int y) {
+        return samples.get(x - originX + (northY - y) * side);
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, double[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int first = x0 - originX + (northY - y) * side;
+        for (int i = 0; i < count; ++i) {
+            out[offset + i] = samples.get(first + i);
+        }
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, short[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        ShortBuffer row = samples.duplicate();
+        row.position(x0 - originX + (northY - y) * side);
+        row.get(out, offset, count);
+    }
+
+    private static ByteBuffer encodeDeltas(short[] samples, int side) {
+        // at most 3 bytes per delta, which is in [-65535;65535]
+        ByteBuffer b = ByteBuffer.allocate(side * (2 + 3 * (side - 1)));
+        for (int row = 0; row < side; ++row) {
+            int i = row * side;
+            b.putShort(samples[i]);
+            for (int j = i + 1; j < i + side; ++j) {
+                int delta = samples[j] - samples[j - 1];
+                int zigzag = (delta << 1) ^ (delta >> 31);
+                while ((zigzag & ~0x7F) != 0) {
+                    b.put((byte) ((zigzag & 0x7F) | 0x80));
+                    zigzag >>>= 7;
+                }
+                b.put((byte) zigzag);
+            }
+        }
+        b.flip();
+        return b;
+    }
+
+    private static void decodeDeltas(ByteBuffer b, short[] samples, int side) throws IOException {
+        try {
+            for (int row = 0; row < side; ++row) {
+                int i = row * side;
+                int previous = samples[i] = b.getShort();
+                for (int j = i + 1; j < i + side; ++j) {
+                    int zigzag = 0, shift = 0, v;
+                    do {
+                        v = b.get();
+                        zigzag |= (v & 0x7F) << shift;
+                        shift += 7;
+                    } while ((v & 0x80) != 0);
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    samples[j] = (short) previous;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated packed tile", e);
+        }
+    }
+
+    /**
+     * Header of a packed tile.
+     */
+    private static final class Header {
+        Layout layout;
+        ByteOrder order;
+        int originX, originY, side;
+        short min, max;
+        long payloadSize;
+
+        static Header read(FileChannel c) throws IOException {
+            ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE);
+            while (b.hasRemaining() && c.read(b) >= 0) {}
+            if (b.hasRemaining()) {
+                throw new IOException("truncated header");
+            }
+            b.flip();
+            if (b.getInt() != MAGIC || b.get() != VERSION) {
+                throw new IOException("not a packed tile");
+            }
+            Header h = new Header();
+            int layout = b.get();
+            int order = b.get();
+            if (layout < 0 || layout >= Layout.values().length || (order != 0 && order != 1)) {
+                throw new IOException("invalid header");
+            }
+            h.layout = Layout.values()[layout];
+            h.order = order == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+            b.get();
+            h.originX = b.getInt();
+            h.originY = b.getInt();
+            h.side = b.getInt();
+            h.min = b.getShort();
+            h.max = b.getShort();
+            h.payloadSize = b.getLong();
+            if (h.side <= 0 || h.side > 1 << 15 || h.payloadSize < 0
+                    || h.payloadSize > c.size() - HEADER_SIZE
+                    || (h.layout == Layout.RAW && h.payloadSize != 2L * h.side * h.side)) {
+                throw new IOException("invalid header");
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Checks of the arguments of the methods reading several samples of a discrete DEM at once.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+final class Samples {
+    private Samples() {}
+
+    /**
+     * Checks that count successive samples of the row y, starting at x0, are in the given
+     * extent, and can be stored in an array of given length starting at offset.
+     * 
+     * @throws IllegalArgumentException if one of the samples is outside of the extent
+     * @throws IndexOutOfBoundsException if the output array is too small
+     */
+    static void checkSamples(Interval2D extent, int x0, int y, int count, int outLength, int offset) {
+        Interval1D iX = extent.iX();
+        checkArgument(count >= 0 && extent.iY().contains(y)
+                && (count == 0 || iX.contains(x0) && count - 1 <= iX.includedTo() - x0));
+        if (offset < 0 || count > outLength - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
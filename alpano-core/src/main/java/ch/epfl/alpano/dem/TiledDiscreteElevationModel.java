@@ -0,0 +1,150 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+import static ch.epfl.alpano.dem.Samples.checkSamples;
+
+import java.util.Collection;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Represents a discrete DEM made of a rectangular grid of one degree tiles
+ * (typically HGT files), the tile containing a sample being found in constant time 
+ * by integer division of its index, whatever the number of tiles.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class TiledDiscreteElevationModel implements DiscreteElevationModel {
+    private final DiscreteElevationModel[] tiles;
+    private final int columns;
+    private final int rows;
+    private final int originX;
+    private final int originY;
+    private final Interval2D extent;
+
+    /**
+     * Builds a DEM with the given tiles, whose extents must each cover exactly one degree
+     * (aligned on integer degrees) and which must together fill a rectangle without holes nor duplicates.
+     * 
+     * @param tiles the one degree DEMs forming the grid
+     * @throws IllegalArgumentException if the tiles don't form a full rectangular grid
+     */
+    public TiledDiscreteElevationModel(Collection<? extends DiscreteElevationModel> tiles) {
+        checkArgument(!tiles.isEmpty());
+        
+        int minLon = Integer.MAX_VALUE, minLat = Integer.MAX_VALUE;
+        int maxLon = Integer.MIN_VALUE, maxLat = Integer.MIN_VALUE;
+        for (DiscreteElevationModel tile : tiles) {
+            Interval2D e = tile.extent();
+            checkArgument(isDegreeTile(e.iX()) && isDegreeTile(e.iY()), "tile doesn't cover exactly one degree : " + e);
+            int lon = e.iX().includedFrom() / SAMPLES_PER_DEGREE;
+            int lat = e.iY().includedFrom() / SAMPLES_PER_DEGREE;
+            minLon = Math.min(minLon, lon);
+            minLat = Math.min(minLat, lat);
+            maxLon = Math.max(maxLon, lon);
+            maxLat = Math.max(maxLat, lat);
+        }
+        
+        columns = maxLon - minLon + 1;
+        rows = maxLat - minLat + 1;
+        checkArgument((long) columns * rows == tiles.size(), "tiles don't form a full rectangle");
+        originX = minLon * SAMPLES_PER_DEGREE;
+        originY = minLat * SAMPLES_PER_DEGREE;
+        
+        this.tiles = new DiscreteElevationModel[columns * rows];
+        for (DiscreteElevationModel tile : tiles) {
+            int index = tileIndex(tile.extent().iX().includedFrom(), tile.extent().iY().includedFrom());
+            checkArgument(this.tiles[index] == null, "duplicate tile : " + tile.extent());
+            this.tiles[index] = tile;
+        }
+        
+        extent = new Interval2D(new Interval1D(originX, originX + columns * SAMPLES_PER_DEGREE),
+                new Interval1D(originY, originY + rows * SAMPLES_PER_DEGREE));
+    }
+
+    private static boolean isDegreeTile(Interval1D i) {
+        return i.size() == SAMPLES_PER_DEGREE + 1 && Math.floorMod(i.includedFrom(), SAMPLES_PER_DEGREE) == 0;
+    }
+
+    /**
+     * Computes the index in the grid of the tile containing the given sample, 
+     * samples on the common border of two tiles being read from the east (resp. north) one, 
+     * except on the border of the grid.
+     */
+    private int tileIndex(int x, int y) {
+        int column = Math.min((x - originX) / SAMPLES_PER_DEGREE, columns - 1);
+        int row = Math.min((y - originY) / SAMPLES_PER_DEGREE, rows - 1);
+        return row * columns + column;
+    }
+
+    /**
+     * Computes the end (excluded) of the run of samples starting at x that are read 
+     * from the same tile, given the end of the whole request.
+     */
+    private int runEnd(int x, int end) {
+        int column = Math.min((x - originX) / SAMPLES_PER_DEGREE, columns - 1);
+        int tileEnd = originX + (column + 1) * SAMPLES_PER_DEGREE;
+        return Math.min(end, column == columns - 1 ? tileEnd + 1 : tileEnd);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DiscreteElevationModel tile : tiles) {
+            tile.close();
+        }
+    }
+
+    @Override
+    public Interval2D extent() {
+        return extent;
+    }
+
+    @Override
+    public double elevationSample(int x, int y) {
+        checkArgument(x >= originX && y >= originY 
+                && x - originX <= columns * SAMPLES_PER_DEGREE && y - originY <= rows * SAMPLES_PER_DEGREE);
+        return tiles[tileIndex(x, y)].elevationSample(x, y);
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, double[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int x = x0;
+        while (x < x0 + count) {
+            DiscreteElevationModel tile = tiles[tileIndex(x, y)];
+            int runEnd = runEnd(x, x0 + count);
+            tile.elevationSamples(x, y, runEnd - x, out, offset + x - x0);
+            x = runEnd;
+        }
+    }
+
+    @Override
+    public void elevationSamples(int x0, int y, int count, short[] out, int offset) {
+        checkSamples(extent(), x0, y, count, out.length, offset);
+        int x = x0;
+        while (x < x0 + count) {
+            DiscreteElevationModel tile = tiles[tileIndex(x, y)];
+            int runEnd = runEnd(x, x0 + count);
+            tile.elevationSamples(x, y, runEnd - x, out, offset + x - x0);
+            x = runEnd;
+        }
+    }
+
+    /**
+     * Returns the tile covering the given degrees of longitude and latitude 
+     * (of its south-west corner), or null if it isn't part of the grid.
+     * 
+     * @param lonDegree longitude in degrees
+     * @param latDegree latitude in degrees
+     * @return the tile
+     */
+    public DiscreteElevationModel tile(int lonDegree, int latDegree) {
+        int column = lonDegree - originX / SAMPLES_PER_DEGREE;
+        int row = latDegree - originY / SAMPLES_PER_DEGREE;
+        if (column < 0 || column >= columns || row < 0 || row >= rows)
+            return null;
+        return tiles[row * columns + column];
+    }
+}
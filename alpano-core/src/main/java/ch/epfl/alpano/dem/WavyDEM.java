@@ -3,7 +3,11 @@ package ch.epfl.alpano.dem;
 import ch.epfl.alpano.Interval2D;
 import java.lang.Math;
 
-final class WavyDEM implements DiscreteElevationModel {
+/**
+ * Synthetic DEM made of regular waves between 0 and 1000 m, used by the tools and the
+ * benchmarks, which need no elevation data.
+ */
+public final class WavyDEM implements DiscreteElevationModel {
   private final static double PERIOD = 100, HEIGHT = 1000;
   private final Interval2D extent;
 
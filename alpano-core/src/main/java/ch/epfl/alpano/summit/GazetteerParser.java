@@ -0,0 +1,74 @@
+package ch.epfl.alpano.summit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import ch.epfl.alpano.GeoPoint;
+
+/**
+ * Reads catalogues of summits, written one per line as
+ * 
+ * <pre>name;longitude;latitude;elevation</pre>
+ * 
+ * the longitude and the latitude being in decimal degrees, and the elevation in meters.
+ * Empty lines and lines starting with # are ignored.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public interface GazetteerParser {
+
+    /**
+     * Reads the summits of the given file, encoded in UTF-8.
+     * 
+     * @param file catalogue
+     * @return the unmodifiable list of the summits, in the order of the file
+     * @throws IOException if the file can't be read or a line is malformed
+     */
+    public static List<Summit> readSummitsFrom(File file) throws IOException {
+        try (Reader r = new InputStreamReader(new FileInputStream(file), UTF_8)) {
+            return readSummitsFrom(r);
+        }
+    }
+
+    /**
+     * Reads the summits of the given reader, which isn't closed.
+     * 
+     * @param reader catalogue
+     * @return the unmodifiable list of the summits, in the order of the reader
+     * @throws IOException if the reader fails or a line is malformed
+     */
+    public static List<Summit> readSummitsFrom(Reader reader) throws IOException {
+        BufferedReader r = new BufferedReader(reader);
+        List<Summit> summits = new ArrayList<>();
+        String line;
+        for (int lineNumber = 1; (line = r.readLine()) != null; ++lineNumber) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(";");
+            if (fields.length != 4 || fields[0].trim().isEmpty()) {
+                throw new IOException("malformed summit at line " + lineNumber + ": " + line);
+            }
+            try {
+                GeoPoint position = new GeoPoint(
+                        Math.toRadians(Double.parseDouble(fields[1].trim())), 
+                        Math.toRadians(Double.parseDouble(fields[2].trim())));
+                summits.add(new Summit(fields[0].trim(), position, Integer.parseInt(fields[3].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("malformed summit at line " + lineNumber + ": " + line, e);
+            }
+        }
+        return Collections.unmodifiableList(summits);
+    }
+}
@@ -0,0 +1,56 @@
+package ch.epfl.alpano.summit;
+
+import java.util.Objects;
+
+import ch.epfl.alpano.GeoPoint;
+
+/**
+ * Represents a named summit, by its position and its elevation.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class Summit {
+    private final String name;
+    private final GeoPoint position;
+    private final int elevation;
+
+    /**
+     * Builds a summit.
+     * 
+     * @param name name of the summit
+     * @param position position of the summit
+     * @param elevation elevation of the summit, in meters
+     */
+    public Summit(String name, GeoPoint position, int elevation) {
+        this.name = Objects.requireNonNull(name);
+        this.position = Objects.requireNonNull(position);
+        this.elevation = elevation;
+    }
+
+    /**
+     * @return the name of the summit
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the position of the summit
+     */
+    public GeoPoint position() {
+        return position;
+    }
+
+    /**
+     * @return the elevation of the summit, in meters
+     */
+    public int elevation() {
+        return elevation;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + position + " " + elevation;
+    }
+}
@@ -0,0 +1,169 @@
+package ch.epfl.alpano.summit;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import ch.epfl.alpano.Azimuth;
+import ch.epfl.alpano.Distance;
+import ch.epfl.alpano.GeoPoint;
+
+/**
+ * Spatial index of summits, answering which summits are within a given distance
+ * of an observer and in a given sector of azimuths.
+ *
+ * The summits are sorted into a grid of cells of equal size in longitude and latitude,
+ * about one summit per cell on average : a query only looks at the summits of the cells
+ * intersecting the box bounding the disc of the query, and computes their distance
+ * and azimuth. The cells are stored compactly, as the ranges of one array of summits.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class SummitIndex {
+    private final static double MIN_CELL_SIZE = Math.toRadians(1 / 120d);
+
+    private final Summit[] summits;
+    private final int[] cellStarts;
+    private final double minLon, minLat, cellSize;
+    private final int columns, rows;
+
+    /**
+     * Builds the index of the given summits.
+     *
+     * @param summits summits
+     */
+    public SummitIndex(List<Summit> summits) {
+        int count = summits.size();
+        double minLon = Math.PI, maxLon = -Math.PI, minLat = Math.PI / 2, maxLat = -Math.PI / 2;
+        for (Summit s : summits) {
+            GeoPoint p = s.position();
+            minLon = Math.min(minLon, p.longitude());
+            maxLon = Math.max(maxLon, p.longitude());
+            minLat = Math.min(minLat, p.latitude());
+            maxLat = Math.max(maxLat, p.latitude());
+        }
+        if (count == 0) {
+            minLon = maxLon = minLat = maxLat = 0;
+        }
+        this.minLon = minLon;
+        this.minLat = minLat;
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.sqrt((maxLon - minLon) * (maxLat - minLat) / Math.max(1, count)));
+        this.columns = (int) ((maxLon - minLon) / cellSize) + 1;
+        this.rows = (int) ((maxLat - minLat) / cellSize) + 1;
+
+        int[] cells = new int[count];
+        cellStarts = new int[columns * rows + 1];
+        for (int i = 0; i < count; ++i) {
+            GeoPoint p = summits.get(i).position();
+            cells[i] = row(p.latitude()) * columns + column(p.longitude());
+            ++cellStarts[cells[i] + 1];
+        }
+        for (int c = 0; c < columns * rows; ++c) {
+            cellStarts[c + 1] += cellStarts[c];
+        }
+        this.summits = new Summit[count];
+        int[] next = cellStarts.clone();
+        for (int i = 0; i < count; ++i) {
+            this.summits[next[cells[i]]++] = Objects.requireNonNull(summits.get(i));
+        }
+    }
+
+    /**
+     * @return the number of summits of the index
+     */
+    public int size() {
+        return summits.length;
+    }
+
+    /**
+     * Returns the summits at most maxDistance meters from the observer, whose azimuth
+     * seen from it is in the sector going clockwise from fromAzimuth to toAzimuth,
+     * both included. The sector contains the north if fromAzimuth is greater than toAzimuth.
+     *
+     * @param observer position of the observer
+     * @param maxDistance maximum distance in meters
+     * @param fromAzimuth canonical azimuth of the start of the sector, in radians
+     * @param toAzimuth canonical azimuth of the end of the sector, in radians
+     * @return the summits, in no particular order
+     * @throws IllegalArgumentException if the distance is negative or an azimuth isn't canonical
+     */
+    public List<Summit> summitsWithin(GeoPoint observer, double maxDistance, double fromAzimuth, double toAzimuth) {
+        checkArgument(maxDistance >= 0 && Azimuth.isCanonical(fromAzimuth) && Azimuth.isCanonical(toAzimuth));
+        if (summits.length == 0) {
+            return Collections.emptyList();
+        }
+
+        double angle = Distance.toRadians(maxDistance);
+        double lat0 = observer.latitude() - angle, lat1 = observer.latitude() + angle;
+        int row0 = row(Math.max(lat0, minLat)), row1 = row(lat1);
+
+        List<Summit> result = new ArrayList<>();
+        if (lat0 <= -Math.PI / 2 || lat1 >= Math.PI / 2 || angle >= Math.PI / 2) {
+            // the disc contains a pole : all the longitudes are concerned
+            addCandidates(result, observer, maxDistance, fromAzimuth, toAzimuth, row0, row1, -Math.PI, Math.PI);
+            return result;
+        }
+
+        double lonAngle = Math.asin(Math.min(1, Math.sin(angle) / Math.cos(observer.latitude())));
+        double lon0 = observer.longitude() - lonAngle, lon1 = observer.longitude() + lonAngle;
+        addCandidates(result, observer, maxDistance, fromAzimuth, toAzimuth, row0, row1, lon0, lon1);
+        if (lon0 < -Math.PI) {
+            addCandidates(result, observer, maxDistance, fromAzimuth, toAzimuth, row0, row1, lon0 + 2 * Math.PI, Math.PI);
+        }
+        if (lon1 > Math.PI) {
+            addCandidates(result, observer, maxDistance, fromAzimuth, toAzimuth, row0, row1, -Math.PI, lon1 - 2 * Math.PI);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the summits at most maxDistance meters from the observer, in all directions.
+     *
+     * @param observer position of the observer
+     * @param maxDistance maximum distance in meters
+     * @return the summits, in no particular order
+     * @throws IllegalArgumentException if the distance is negative
+     */
+    public List<Summit> summitsWithin(GeoPoint observer, double maxDistance) {
+        return summitsWithin(observer, maxDistance, 0, Math.nextDown(2 * Math.PI));
+    }
+
+    /**
+     * Adds to result the summits of the cells of rows [row0;row1] and of longitudes [lon0;lon1]
+     * satisfying the query.
+     */
+    private void addCandidates(List<Summit> result, GeoPoint observer, double maxDistance,
+            double fromAzimuth, double toAzimuth, int row0, int row1, double lon0, double lon1) {
+        if (lon1 < minLon) {
+            return;
+        }
+        int column0 = column(Math.max(lon0, minLon)), column1 = column(lon1);
+        for (int row = Math.max(row0, 0); row <= Math.min(row1, rows - 1); ++row) {
+            int from = cellStarts[row * columns + column0], to = cellStarts[row * columns + column1 + 1];
+            for (int i = from; i < to; ++i) {
+                GeoPoint p = summits[i].position();
+                if (observer.distanceTo(p) <= maxDistance && inSector(observer.azimuthTo(p), fromAzimuth, toAzimuth)) {
+                    result.add(summits[i]);
+                }
+            }
+        }
+    }
+
+    private static boolean inSector(double azimuth, double fromAzimuth, double toAzimuth) {
+        return fromAzimuth <= toAzimuth
+                ? fromAzimuth <= azimuth && azimuth <= toAzimuth
+                : fromAzimuth <= azimuth || azimuth <= toAzimuth;
+    }
+
+    private int column(double longitude) {
+        return Math.min(columns - 1, (int) ((longitude - minLon) / cellSize));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) ((latitude - minLat) / cellSize));
+    }
+}
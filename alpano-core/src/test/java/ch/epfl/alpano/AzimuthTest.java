@@ -14,6 +14,7 @@ import static java.lang.Math.round;
 import static java.lang.Math.scalb;
 import static java.lang.Math.toDegrees;
 import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -67,6 +68,48 @@ public class AzimuthTest {
         }
     }
 
+    @Test
+    public void canonicalizeWorksOnHugeAngles() {
+        assertTrue(isCanonical(canonicalize(1e300)));
+        assertTrue(isCanonical(canonicalize(-1e300)));
+        assertEquals(toRadians(10), canonicalize(toRadians(10 + 360 * 1_000_000)), 1e-6);
+    }
+
+    @Test
+    public void canonicalizeWorksOnTinyNegativeAngles() {
+        assertTrue(isCanonical(canonicalize(-1e-20)));
+        assertEquals(scalb(PI, 1) - 1e-3, canonicalize(-1e-3), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void canonicalizeFailsOnNaN() {
+        canonicalize(Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void canonicalizeFailsOnInfinity() {
+        canonicalize(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void bulkCanonicalizeIsTheSameAsScalarOne() {
+        Random rng = newRandom();
+        double[] in = new double[RANDOM_ITERATIONS];
+        for (int i = 0; i < in.length; ++i)
+            in[i] = (rng.nextDouble() - 0.5) * 1000;
+        double[] out = new double[in.length];
+        canonicalize(in, out);
+        for (int i = 0; i < in.length; ++i)
+            assertEquals(canonicalize(in[i]), out[i], 0);
+        canonicalize(in, in);
+        assertArrayEquals(out, in, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bulkCanonicalizeFailsWithDifferentLengths() {
+        canonicalize(new double[2], new double[3]);
+    }
+
     @Test
     public void toMathCorrectlyHandles0() {
         assertEquals(0d, toMath(0d), 0d);
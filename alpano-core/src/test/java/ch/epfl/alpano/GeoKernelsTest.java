@@ -0,0 +1,65 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GeoKernelsTest {
+    private final static GeoPoint OBSERVER = new GeoPoint(toRadians(6.56599), toRadians(46.52224));
+
+    @Test(expected = IllegalArgumentException.class)
+    public void distancesFailsWithDifferentLengths() {
+        GeoKernels.distances(OBSERVER, new double[3], new double[3], new double[2]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void azimuthsFailsWithNullObserver() {
+        GeoKernels.azimuths(null, new double[3], new double[3], new double[3]);
+    }
+
+    @Test
+    public void kernelsGiveTheResultsOfGeoPoint() {
+        for (int count : new int[] { RANDOM_ITERATIONS, 10_000 }) {
+            Random rng = newRandom();
+            double[] lons = new double[count], lats = new double[count];
+            for (int i = 0; i < count; ++i) {
+                lons[i] = (rng.nextDouble() * 2 - 1) * Math.PI;
+                lats[i] = (rng.nextDouble() - 0.5) * Math.PI;
+            }
+            for (boolean parallel : new boolean[] { false, true }) {
+                double[] distances = new double[count], azimuths = new double[count];
+                GeoKernels.distances(OBSERVER, lons, lats, distances, parallel);
+                GeoKernels.azimuths(OBSERVER, lons, lats, azimuths, parallel);
+                for (int i = 0; i < count; ++i) {
+                    GeoPoint p = new GeoPoint(lons[i], lats[i]);
+                    assertEquals(OBSERVER.distanceTo(p), distances[i], 0);
+                    assertEquals(OBSERVER.azimuthTo(p), azimuths[i], 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void distancesAndAzimuthsAreThoseComputedSeparately() {
+        Random rng = newRandom();
+        double[] lons = new double[RANDOM_ITERATIONS], lats = new double[RANDOM_ITERATIONS];
+        for (int i = 0; i < lons.length; ++i) {
+            lons[i] = toRadians(5 + 6 * rng.nextDouble());
+            lats[i] = toRadians(45 + 3 * rng.nextDouble());
+        }
+        double[] d1 = new double[lons.length], a1 = new double[lons.length];
+        double[] d2 = new double[lons.length], a2 = new double[lons.length];
+        GeoKernels.distances(OBSERVER, lons, lats, d1);
+        GeoKernels.azimuths(OBSERVER, lons, lats, a1);
+        GeoKernels.distancesAndAzimuths(OBSERVER, lons, lats, d2, a2, false);
+        for (int i = 0; i < lons.length; ++i) {
+            assertEquals(d1[i], d2[i], 0);
+            assertEquals(a1[i], a2[i], 0);
+        }
+    }
+}
@@ -12,6 +12,8 @@ public class GeoPointTest {
     private static GeoPoint FEDERAL_PALACE = new GeoPoint(toRadians(7.44428), toRadians(46.94652));
     private static GeoPoint SAENTIS = new GeoPoint(toRadians(9.34324), toRadians(47.24942));
     private static GeoPoint MONTE_TAMARO = new GeoPoint(toRadians(8.86598), toRadians(46.10386));
+    private static GeoPoint LONDON = new GeoPoint(toRadians(-0.1278), toRadians(51.5074));
+    private static GeoPoint NEW_YORK = new GeoPoint(toRadians(-74.0060), toRadians(40.7128));
 
     @Test
     public void distanceToWorksOnKnownPoints() {
@@ -28,4 +30,19 @@ public class GeoPointTest {
         assertEquals(130.23, toDegrees(FEDERAL_PALACE.azimuthTo(MONTE_TAMARO)), 0.01);
         assertEquals(245.82, toDegrees(SAENTIS.azimuthTo(CORNAVIN)), 0.01);
     }
+
+    @Test
+    public void azimuthToWorksOnDistantPoints() {
+        // initial great-circle bearings, as given by usual online calculators
+        assertEquals(288.33, toDegrees(LONDON.azimuthTo(NEW_YORK)), 0.01);
+        assertEquals( 51.21, toDegrees(NEW_YORK.azimuthTo(LONDON)), 0.01);
+    }
+
+    @Test
+    public void azimuthToIsExactForPointAQuarterOfTheEquatorAway() {
+        // the great circle through (0, 0) and (90E, 45N) leaves the equator heading north-east
+        GeoPoint origin = new GeoPoint(0, 0);
+        assertEquals(45, toDegrees(origin.azimuthTo(new GeoPoint(toRadians(90), toRadians(45)))), 1e-9);
+        assertEquals(315, toDegrees(origin.azimuthTo(new GeoPoint(toRadians(-90), toRadians(45)))), 1e-9);
+    }
 }
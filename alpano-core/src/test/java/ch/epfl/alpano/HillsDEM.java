@@ -0,0 +1,22 @@
+package ch.epfl.alpano;
+
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+
+/**
+ * Regular hills between 100 and 900 m covering the tiles N46E006 to N47E007.
+ */
+final class HillsDEM implements DiscreteElevationModel {
+    private final Interval2D extent = new Interval2D(
+            new Interval1D(6 * 3600, 8 * 3600), new Interval1D(46 * 3600, 48 * 3600));
+
+    @Override
+    public Interval2D extent() { return extent; }
+
+    @Override
+    public double elevationSample(int x, int y) {
+        return 500 + 400 * Math.sin(x / 50d) * Math.cos(y / 70d);
+    }
+
+    @Override
+    public void close() {}
+}
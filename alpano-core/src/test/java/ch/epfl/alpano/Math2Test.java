@@ -88,6 +88,13 @@ public class Math2Test {
         }
     }
 
+    @Test
+    public void angularDistanceWorksOnLargeAngles() {
+        assertEquals(toRadians(10), angularDistance(toRadians(350), toRadians(720)), 1e-10);
+        assertEquals(-PI, angularDistance(0, PI), 1e-10);
+        assertEquals(toRadians(-20), angularDistance(toRadians(10), toRadians(-10)), 1e-10);
+    }
+
     @Test
     public void angularDistanceIsSymmetric() {
         Random rng = newRandom();
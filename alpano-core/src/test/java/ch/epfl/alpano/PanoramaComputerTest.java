@@ -0,0 +1,183 @@
+package ch.epfl.alpano;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+import ch.epfl.alpano.dem.ElevationProfile;
+
+public class PanoramaComputerTest {
+    private final static GeoPoint OBSERVER = new GeoPoint(toRadians(6.5), toRadians(46.5));
+    private final static PanoramaParameters PARAMETERS = new PanoramaParameters(
+            OBSERVER, 1000, toRadians(30), toRadians(60), 100_000, 61, 41);
+    private final static double CURVATURE = (1 - PanoramaComputer.REFRACTION_COEFFICIENT)
+            / (2 * Distance.EARTH_RADIUS);
+
+    /**
+     * Horizontal distance at which a ray of given altitude leaving the observer
+     * reaches the sea level.
+     */
+    private static double seaLevelDistance(double altitude) {
+        double t = Math.tan(altitude);
+        double r0 = PARAMETERS.observerElevation();
+        return (-t - Math.sqrt(t * t - 4 * CURVATURE * r0)) / (2 * CURVATURE);
+    }
+
+    @Test
+    public void computePanoramaOfSeaLevel() {
+        Panorama p = new PanoramaComputer(new ContinuousElevationModel(new SeaLevelDEM()))
+                .computePanorama(PARAMETERS);
+        for (int x = 0; x < PARAMETERS.width(); ++x) {
+            for (int y = 0; y < PARAMETERS.height(); ++y) {
+                double altitude = PARAMETERS.altitudeForY(y);
+                double d = altitude < 0 ? seaLevelDistance(altitude) : Double.POSITIVE_INFINITY;
+                if (d > PARAMETERS.maxDistance() - 64) {
+                    assertEquals(Float.POSITIVE_INFINITY, p.distanceAt(x, y), 0);
+                    assertEquals(0, p.longitudeAt(x, y), 0);
+                } else {
+                    assertEquals(d / Math.cos(altitude), p.distanceAt(x, y), 5);
+                    assertEquals(0, p.elevationAt(x, y), 0);
+                    assertEquals(0, p.slopeAt(x, y), 0);
+                    GeoPoint point = new GeoPoint(p.longitudeAt(x, y), p.latitudeAt(x, y));
+                    assertEquals(d, OBSERVER.distanceTo(point), 10);
+                    assertEquals(0, Math2.angularDistance(PARAMETERS.azimuthForX(x), OBSERVER.azimuthTo(point)), 1e-3);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void computePanoramaFindsFirstHitOfEachRay() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        PanoramaParameters parameters = new PanoramaParameters(
+                OBSERVER, 1000, toRadians(30), toRadians(60), 30_000, 61, 101);
+        Panorama p = new PanoramaComputer(dem).computePanorama(parameters);
+        for (int x = 0; x < parameters.width(); ++x) {
+            ElevationProfile profile = new ElevationProfile(dem, OBSERVER, parameters.azimuthForX(x), 30_000);
+            for (int y = 0; y < parameters.height(); ++y) {
+                double altitude = parameters.altitudeForY(y);
+                DoubleUnaryOperator f = PanoramaComputer.rayToGroundDistance(profile, 1000, Math.tan(altitude));
+                double lowerBound = Math2.firstIntervalContainingRoot(f, 0, 30_000 - 64, 64);
+                if (lowerBound == Double.POSITIVE_INFINITY) {
+                    assertEquals(Float.POSITIVE_INFINITY, p.distanceAt(x, y), 0);
+                } else {
+                    double root = Math2.improveRoot(f, lowerBound, lowerBound + 64, 4);
+                    assertEquals((float) (root / Math.cos(altitude)), p.distanceAt(x, y), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void computePanoramaWithPrecomputedProfilesIsCloseToExactOne() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        PanoramaParameters parameters = new PanoramaParameters(
+                OBSERVER, 1000, toRadians(30), toRadians(60), 30_000, 61, 101);
+        Panorama exact = new PanoramaComputer(dem).computePanorama(parameters);
+        Panorama precomputed = new PanoramaComputer(dem, 16).computePanorama(parameters);
+        int close = 0;
+        for (int x = 0; x < parameters.width(); ++x) {
+            for (int y = 0; y < parameters.height(); ++y) {
+                if (Math.abs(exact.distanceAt(x, y) - precomputed.distanceAt(x, y)) <= 64
+                        || exact.distanceAt(x, y) == precomputed.distanceAt(x, y))
+                    ++close;
+            }
+        }
+        assertTrue(close >= 0.99 * parameters.width() * parameters.height());
+    }
+
+    @Test
+    public void computePanoramaWithIllinoisIsCloseToBisectionOne() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        PanoramaParameters parameters = new PanoramaParameters(
+                OBSERVER, 1000, toRadians(30), toRadians(60), 30_000, 61, 101);
+        PanoramaComputer bisection = new PanoramaComputer(dem);
+        PanoramaComputer illinois = new PanoramaComputer(dem, 0, RootSolver.Method.ILLINOIS);
+        Panorama p1 = bisection.computePanorama(parameters);
+        Panorama p2 = illinois.computePanorama(parameters);
+        for (int x = 0; x < parameters.width(); ++x) {
+            for (int y = 0; y < parameters.height(); ++y) {
+                if (p1.distanceAt(x, y) == Float.POSITIVE_INFINITY)
+                    assertEquals(Float.POSITIVE_INFINITY, p2.distanceAt(x, y), 0);
+                else
+                    assertEquals(p1.distanceAt(x, y), p2.distanceAt(x, y), 8);
+            }
+        }
+        assertTrue(0 < illinois.evaluations() && illinois.evaluations() < bisection.evaluations());
+    }
+
+    @Test
+    public void computePanoramaProgressivelyDeliversPassesAndExactPanorama() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        PanoramaParameters parameters = new PanoramaParameters(
+                OBSERVER, 1000, toRadians(30), toRadians(60), 30_000, 61, 101);
+        PanoramaComputer computer = new PanoramaComputer(dem);
+        List<Integer> strides = new ArrayList<>();
+        List<Panorama> previews = new ArrayList<>();
+        List<Long> evaluations = new ArrayList<>();
+        float[] firstPass = new float[2];
+        Panorama p = computer.computePanoramaProgressively(parameters, (preview, stride) -> {
+            strides.add(stride);
+            previews.add(preview);
+            evaluations.add(computer.evaluations());
+            if (stride == 8) {
+                firstPass[0] = preview.distanceAt(8, 96);
+                firstPass[1] = preview.distanceAt(9, 96);
+            }
+        });
+        assertEquals(Arrays.asList(8, 4, 2, 1), strides);
+        assertTrue(p == previews.get(3));
+        // the previews are views of the panorama being computed
+        assertEquals(p.distanceAt(9, 96), previews.get(0).distanceAt(9, 96), 0);
+        assertTrue(firstPass[0] < Float.POSITIVE_INFINITY);
+        assertEquals(Float.POSITIVE_INFINITY, firstPass[1], 0);
+
+        PanoramaComputer exactComputer = new PanoramaComputer(dem);
+        Panorama exact = exactComputer.computePanorama(parameters);
+        for (int x = 0; x < parameters.width(); ++x) {
+            for (int y = 0; y < parameters.height(); ++y) {
+                assertEquals(exact.distanceAt(x, y), p.distanceAt(x, y), 0);
+                assertEquals(exact.longitudeAt(x, y), p.longitudeAt(x, y), 0);
+                assertEquals(exact.latitudeAt(x, y), p.latitudeAt(x, y), 0);
+                assertEquals(exact.elevationAt(x, y), p.elevationAt(x, y), 0);
+                assertEquals(exact.slopeAt(x, y), p.slopeAt(x, y), 0);
+            }
+        }
+        assertEquals(exactComputer.evaluations(), evaluations.get(3) - evaluations.get(2), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void computePanoramaProgressivelyFailsWithNullListener() {
+        new PanoramaComputer(new ContinuousElevationModel(new SeaLevelDEM()))
+            .computePanoramaProgressively(PARAMETERS, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithZeroProfileElevationStep() {
+        new PanoramaComputer(new ContinuousElevationModel(new SeaLevelDEM()), 0);
+    }
+
+
+
+    private static final class SeaLevelDEM implements DiscreteElevationModel {
+        private final Interval2D extent = new Interval2D(new Interval1D(0, 1), new Interval1D(0, 1));
+
+        @Override
+        public Interval2D extent() { return extent; }
+
+        @Override
+        public double elevationSample(int x, int y) { return 0; }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,91 @@
+package ch.epfl.alpano;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+
+public class PanoramaExecutorTest {
+    private final static GeoPoint OBSERVER = new GeoPoint(toRadians(6.5), toRadians(46.5));
+    private final static PanoramaParameters PARAMETERS = new PanoramaParameters(
+            OBSERVER, 1000, toRadians(30), toRadians(60), 30_000, 121, 61);
+    private final static PanoramaComputer COMPUTER = new PanoramaComputer(new ContinuousElevationModel(new HillsDEM()));
+
+    private static void assertSamePanorama(Panorama expected, Panorama actual) {
+        for (int x = 0; x < PARAMETERS.width(); ++x) {
+            for (int y = 0; y < PARAMETERS.height(); ++y) {
+                assertEquals(expected.distanceAt(x, y), actual.distanceAt(x, y), 0);
+                assertEquals(expected.elevationAt(x, y), actual.elevationAt(x, y), 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithZeroMinChunk() {
+        new PanoramaExecutor(COMPUTER, ForkJoinPool.commonPool(), 0);
+    }
+
+    @Test
+    public void computeGivesTheSamePanoramaAsComputer() {
+        Panorama expected = COMPUTER.computePanorama(PARAMETERS);
+        assertSamePanorama(expected, new PanoramaExecutor(COMPUTER).compute(PARAMETERS));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSamePanorama(expected, new PanoramaExecutor(COMPUTER, pool, 1).compute(PARAMETERS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void submitReportsTheProgressOfAllColumns() throws Exception {
+        AtomicInteger maxDone = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        PanoramaExecutor.Job job = new PanoramaExecutor(COMPUTER).submit(PARAMETERS, (done, columns, rate) -> {
+            assertEquals(PARAMETERS.width(), columns);
+            assertTrue(rate >= 0);
+            maxDone.accumulateAndGet(done, Math::max);
+            calls.incrementAndGet();
+        });
+        Panorama p = job.get();
+        assertTrue(job.isDone());
+        assertEquals(PARAMETERS.width(), job.columnsDone());
+        assertEquals(PARAMETERS.width(), maxDone.get());
+        assertTrue(calls.get() >= 1);
+        assertTrue(job.columnsPerSecond() > 0);
+        assertSamePanorama(COMPUTER.computePanorama(PARAMETERS), p);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void getFailsOnCancelledJob() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            PanoramaExecutor executor = new PanoramaExecutor(COMPUTER, pool, 1);
+            AtomicInteger started = new AtomicInteger();
+            PanoramaExecutor.Job[] job = new PanoramaExecutor.Job[1];
+            synchronized (job) {
+                job[0] = executor.submit(PARAMETERS, (done, columns, rate) -> {
+                    synchronized (job) {
+                        if (started.getAndIncrement() == 0)
+                            job[0].cancel();
+                    }
+                });
+            }
+            try {
+                job[0].get();
+            } finally {
+                assertTrue(job[0].isCancelled());
+                assertTrue(job[0].columnsDone() < PARAMETERS.width());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
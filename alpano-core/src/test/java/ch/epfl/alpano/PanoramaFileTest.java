@@ -0,0 +1,116 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+
+public class PanoramaFileTest {
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private final static PanoramaParameters PARAMETERS = new PanoramaParameters(
+            new GeoPoint(toRadians(6.5), toRadians(46.5)), 1000, toRadians(30), toRadians(60), 30_000, 31, 21);
+
+    @Test
+    public void mappedPanoramaHasParametersAndPixelsOfBuiltOne() throws IOException {
+        File file = folder.newFile();
+        Random rng = newRandom();
+        Panorama.Builder b = PanoramaFile.create(file, PARAMETERS);
+        for (int i = 0; i < 100; ++i) {
+            int x = rng.nextInt(PARAMETERS.width()), y = rng.nextInt(PARAMETERS.height());
+            b.setDistanceAt(x, y, rng.nextFloat())
+                .setLongitudeAt(x, y, rng.nextFloat())
+                .setLatitudeAt(x, y, rng.nextFloat())
+                .setElevationAt(x, y, rng.nextFloat())
+                .setSlopeAt(x, y, rng.nextFloat());
+        }
+        Panorama built = b.build();
+        Panorama mapped = PanoramaFile.map(file);
+
+        PanoramaParameters p = mapped.parameters();
+        assertEquals(PARAMETERS.observerPosition().longitude(), p.observerPosition().longitude(), 0);
+        assertEquals(PARAMETERS.observerPosition().latitude(), p.observerPosition().latitude(), 0);
+        assertEquals(PARAMETERS.observerElevation(), p.observerElevation());
+        assertEquals(PARAMETERS.centerAzimuth(), p.centerAzimuth(), 0);
+        assertEquals(PARAMETERS.horizontalFieldOfView(), p.horizontalFieldOfView(), 0);
+        assertEquals(PARAMETERS.maxDistance(), p.maxDistance());
+        assertEquals(PARAMETERS.width(), p.width());
+        assertEquals(PARAMETERS.height(), p.height());
+
+        for (int x = 0; x < p.width(); ++x) {
+            for (int y = 0; y < p.height(); ++y) {
+                assertEquals(built.distanceAt(x, y), mapped.distanceAt(x, y), 0);
+                assertEquals(built.longitudeAt(x, y), mapped.longitudeAt(x, y), 0);
+                assertEquals(built.latitudeAt(x, y), mapped.latitudeAt(x, y), 0);
+                assertEquals(built.elevationAt(x, y), mapped.elevationAt(x, y), 0);
+                assertEquals(built.slopeAt(x, y), mapped.slopeAt(x, y), 0);
+            }
+        }
+    }
+
+    @Test
+    public void createdFileInitiallyShowsNoTerrain() throws IOException {
+        File file = folder.newFile();
+        PanoramaFile.create(file, PARAMETERS).build();
+        Panorama p = PanoramaFile.map(file);
+        for (int x = 0; x < PARAMETERS.width(); ++x) {
+            for (int y = 0; y < PARAMETERS.height(); ++y) {
+                assertEquals(Float.POSITIVE_INFINITY, p.distanceAt(x, y), 0);
+                assertEquals(0, p.elevationAt(x, y), 0);
+            }
+        }
+    }
+
+    @Test
+    public void computedPanoramaIsTheSameInFileAndOnHeap() throws IOException {
+        PanoramaComputer computer = new PanoramaComputer(new ContinuousElevationModel(new HillsDEM()));
+        Panorama onHeap = computer.computePanorama(PARAMETERS);
+        File file = folder.newFile();
+        computer.computePanorama(PanoramaFile.create(file, PARAMETERS));
+        Panorama mapped = PanoramaFile.map(file);
+        for (int x = 0; x < PARAMETERS.width(); ++x) {
+            for (int y = 0; y < PARAMETERS.height(); ++y) {
+                assertEquals(onHeap.distanceAt(x, y), mapped.distanceAt(x, y), 0);
+                assertEquals(onHeap.slopeAt(x, y), mapped.slopeAt(x, y), 0);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void mapFailsOnOtherFile() throws IOException {
+        File file = folder.newFile();
+        try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+            f.setLength(1000);
+        }
+        PanoramaFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void mapFailsOnFileWhosePanoramaWasNotBuilt() throws IOException {
+        File file = folder.newFile();
+        Panorama.Builder b = PanoramaFile.create(file, PARAMETERS);
+        b.setDistanceAt(0, 0, 1000);
+        PanoramaFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void mapFailsOnTruncatedFile() throws IOException {
+        File file = folder.newFile();
+        PanoramaFile.create(file, PARAMETERS).build();
+        try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+            f.setLength(f.length() - 4);
+        }
+        PanoramaFile.map(file);
+    }
+}
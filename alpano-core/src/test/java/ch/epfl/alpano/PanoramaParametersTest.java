@@ -0,0 +1,86 @@
+package ch.epfl.alpano;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PanoramaParametersTest {
+    private final static GeoPoint OBSERVER = new GeoPoint(toRadians(6.5), toRadians(46.5));
+
+    private static PanoramaParameters parameters(double centerAzimuthDeg) {
+        return new PanoramaParameters(OBSERVER, 1000, toRadians(centerAzimuthDeg), toRadians(60),
+                100_000, 61, 41);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNonCanonicalAzimuth() {
+        parameters(360);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithTooLargeFieldOfView() {
+        new PanoramaParameters(OBSERVER, 1000, 0, 7, 100_000, 61, 41);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructorFailsWithNullObserver() {
+        new PanoramaParameters(null, 1000, 0, 1, 100_000, 61, 41);
+    }
+
+    @Test
+    public void verticalFieldOfViewIsProportionalToHeight() {
+        assertEquals(toRadians(40), parameters(0).verticalFieldOfView(), 1e-10);
+    }
+
+    @Test
+    public void azimuthForXIsCanonicalAndCentered() {
+        PanoramaParameters p = parameters(10);
+        assertEquals(toRadians(340), p.azimuthForX(0), 1e-10);
+        assertEquals(toRadians(10), p.azimuthForX(30), 1e-10);
+        assertEquals(toRadians(40), p.azimuthForX(60), 1e-10);
+        assertEquals(toRadians(355), p.azimuthForX(15), 1e-10);
+    }
+
+    @Test
+    public void azimuthsAreThoseOfTheColumns() {
+        PanoramaParameters p = parameters(10);
+        double[] azimuths = p.azimuths();
+        assertEquals(p.width(), azimuths.length);
+        for (int x = 0; x < p.width(); ++x)
+            assertEquals(p.azimuthForX(x), azimuths[x], 0);
+    }
+
+    @Test
+    public void xForAzimuthIsInverseOfAzimuthForX() {
+        PanoramaParameters p = parameters(10);
+        for (double x = 0; x <= 60; x += 0.5)
+            assertEquals(x, p.xForAzimuth(p.azimuthForX(x)), 1e-8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void xForAzimuthFailsOutsideOfFieldOfView() {
+        parameters(10).xForAzimuth(toRadians(41));
+    }
+
+    @Test
+    public void altitudeForYDecreasesFromTopToBottom() {
+        PanoramaParameters p = parameters(0);
+        assertEquals(toRadians(20), p.altitudeForY(0), 1e-10);
+        assertEquals(0, p.altitudeForY(20), 1e-10);
+        assertEquals(toRadians(-20), p.altitudeForY(40), 1e-10);
+        for (double y = 0; y <= 40; y += 0.5)
+            assertEquals(y, p.yForAltitude(p.altitudeForY(y)), 1e-8);
+    }
+
+    @Test
+    public void sampleIndexesAreRowByRow() {
+        PanoramaParameters p = parameters(0);
+        assertTrue(p.isValidSampleIndex(60, 40));
+        assertFalse(p.isValidSampleIndex(61, 0));
+        assertFalse(p.isValidSampleIndex(0, -1));
+        assertEquals(2 * 61 + 3, p.linearSampleIndex(3, 2));
+    }
+}
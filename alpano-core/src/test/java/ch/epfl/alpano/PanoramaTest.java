@@ -0,0 +1,56 @@
+package ch.epfl.alpano;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PanoramaTest {
+    private final static PanoramaParameters PARAMETERS = new PanoramaParameters(
+            new GeoPoint(toRadians(6.5), toRadians(46.5)), 1000, 0, toRadians(60), 100_000, 5, 3);
+
+    @Test
+    public void builderInitiallyShowsNoTerrain() {
+        Panorama p = new Panorama.Builder(PARAMETERS).build();
+        for (int x = 0; x < 5; ++x) {
+            for (int y = 0; y < 3; ++y) {
+                assertEquals(Float.POSITIVE_INFINITY, p.distanceAt(x, y), 0);
+                assertEquals(0, p.longitudeAt(x, y), 0);
+                assertEquals(0, p.latitudeAt(x, y), 0);
+                assertEquals(0, p.elevationAt(x, y), 0);
+                assertEquals(0, p.slopeAt(x, y), 0);
+            }
+        }
+    }
+
+    @Test
+    public void builderSetsChannelsOfPixel() {
+        Panorama p = new Panorama.Builder(PARAMETERS).setDistanceAt(4, 2, 1)
+                .setLongitudeAt(4, 2, 2).setLatitudeAt(4, 2, 3)
+                .setElevationAt(4, 2, 4).setSlopeAt(4, 2, 5).build();
+        assertEquals(1, p.distanceAt(4, 2), 0);
+        assertEquals(2, p.longitudeAt(4, 2), 0);
+        assertEquals(3, p.latitudeAt(4, 2), 0);
+        assertEquals(4, p.elevationAt(4, 2), 0);
+        assertEquals(5, p.slopeAt(4, 2), 0);
+        assertEquals(Float.POSITIVE_INFINITY, p.distanceAt(3, 2), 0);
+    }
+
+    @Test
+    public void distanceAtReturnsDefaultOutsideOfPanorama() {
+        Panorama p = new Panorama.Builder(PARAMETERS).build();
+        assertEquals(-1, p.distanceAt(5, 0, -1), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void elevationAtFailsOutsideOfPanorama() {
+        new Panorama.Builder(PARAMETERS).build().elevationAt(0, 3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void builderFailsAfterBuild() {
+        Panorama.Builder b = new Panorama.Builder(PARAMETERS);
+        b.build();
+        b.setSlopeAt(0, 0, 1);
+    }
+}
@@ -0,0 +1,107 @@
+package ch.epfl.alpano;
+
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.RootSolver.Method;
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.ElevationProfile;
+
+public class RootSolverTest {
+    private final static DoubleUnaryOperator SIN = Math::sin;
+    private final static DoubleUnaryOperator RAY = x -> 50 * Math.sin(x / 300) + x - 90_000;
+
+    @Test(expected = NullPointerException.class)
+    public void constructorFailsWithNullMethod() {
+        new RootSolver(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void improveRootFailsWhenIntervalDoesNotContainRoot() {
+        new RootSolver(Method.ILLINOIS).improveRoot(SIN, 1, 2, 1e-10);
+    }
+
+    @Test
+    public void firstIntervalContainingRootIsTheSameAsMath2() {
+        RootSolver solver = new RootSolver(Method.BISECTION);
+        assertEquals(Math2.firstIntervalContainingRoot(SIN, -1d, 1d, 0.1 + 1e-11),
+                solver.firstIntervalContainingRoot(SIN, -1d, 1d, 0.1 + 1e-11), 0);
+        assertEquals(Double.POSITIVE_INFINITY, solver.firstIntervalContainingRoot(SIN, 0.5, 3, 0.5), 0);
+    }
+
+    @Test
+    public void firstIntervalContainingRootEvaluatesOncePerStep() {
+        RootSolver solver = new RootSolver(Method.BISECTION);
+        assertEquals(3, solver.firstIntervalContainingRoot(SIN, 1, 4, 1), 0);
+        assertEquals(4, solver.evaluations());
+        solver.resetEvaluations();
+        assertEquals(0, solver.evaluations());
+    }
+
+    @Test
+    public void improveRootReusesBoundsOfLastInterval() {
+        RootSolver solver = new RootSolver(Method.BISECTION);
+        double lowerBound = solver.firstIntervalContainingRoot(RAY, 0, 100_000, 64);
+        long searchEvaluations = solver.evaluations();
+        solver.improveRoot(RAY, lowerBound, lowerBound + 64, 4);
+        // 64 -> 32 -> 16 -> 8 -> 4
+        assertEquals(searchEvaluations + 4, solver.evaluations());
+    }
+
+    @Test
+    public void bisectionGivesTheResultsOfMath2() {
+        Random rng = newRandom();
+        RootSolver solver = new RootSolver(Method.BISECTION);
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            double x1 = PI - rng.nextDouble(), x2 = PI + rng.nextDouble();
+            assertEquals(Math2.improveRoot(SIN, x1, x2, 1e-6), solver.improveRoot(SIN, x1, x2, 1e-6), 0);
+        }
+    }
+
+    @Test
+    public void illinoisFindsRootsWithFewerEvaluations() {
+        Random rng = newRandom();
+        RootSolver bisection = new RootSolver(Method.BISECTION);
+        RootSolver illinois = new RootSolver(Method.ILLINOIS);
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            double x1 = PI - rng.nextDouble(), x2 = PI + rng.nextDouble();
+            double root = illinois.improveRoot(SIN, x1, x2, 1e-6);
+            assertTrue(x1 <= root && root <= x2);
+            assertEquals(PI, root, 1e-6);
+            bisection.improveRoot(SIN, x1, x2, 1e-6);
+        }
+        assertTrue(illinois.evaluations() < bisection.evaluations());
+    }
+
+    @Test
+    public void improveRootReturnsBoundsThatAreRoots() {
+        RootSolver solver = new RootSolver(Method.ILLINOIS);
+        assertEquals(0, solver.improveRoot(SIN, 0, 1, 1e-6), 0);
+        assertEquals(PI, solver.improveRoot(x -> x - PI, 3, PI, 1e-6), 0);
+    }
+
+    @Test
+    public void rayFunctionSearchIsTheSameAsGenericOne() {
+        ContinuousElevationModel dem = new ContinuousElevationModel(new HillsDEM());
+        GeoPoint observer = new GeoPoint(Math.toRadians(6.5), Math.toRadians(46.5));
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS / 10; ++i) {
+            ElevationProfile profile = new ElevationProfile(dem, observer, rng.nextDouble() * Math2.PI2, 50_000);
+            RayToGroundDistance f = new RayToGroundDistance(profile, 1000, -rng.nextDouble() * 0.1);
+            DoubleUnaryOperator g = f;
+            RootSolver specialized = new RootSolver(Method.BISECTION);
+            RootSolver generic = new RootSolver(Method.BISECTION);
+            assertEquals(generic.firstIntervalContainingRoot(g, 0, 50_000 - 64, 64),
+                    specialized.firstIntervalContainingRoot(f, 0, 50_000 - 64, 64), 0);
+            assertEquals(generic.evaluations(), specialized.evaluations());
+        }
+    }
+}
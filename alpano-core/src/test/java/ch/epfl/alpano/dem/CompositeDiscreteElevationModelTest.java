@@ -84,6 +84,39 @@ public class CompositeDiscreteElevationModelTest {
         assertEquals(2, dem12.elevationSample(-100_000, 200_000), 0);
     }
 
+    @SuppressWarnings("resource")
+    @Test
+    public void elevationSamplesWorksAcrossBothSubDEMs() {
+        Interval2D left = new Interval2D(new Interval1D(0, 10), new Interval1D(0, 10));
+        Interval2D right = new Interval2D(new Interval1D(8, 20), new Interval1D(0, 10));
+        DiscreteElevationModel dem = new ConstantElevationDEM(right, 2)
+                .union(new ConstantElevationDEM(left, 1));
+        double[] samples = new double[21];
+        short[] shortSamples = new short[22];
+        dem.elevationSamples(0, 5, 21, samples);
+        dem.elevationSamples(0, 5, 21, shortSamples, 1);
+        for (int x = 0; x <= 20; ++x) {
+            assertEquals(dem.elevationSample(x, 5), samples[x], 0);
+            assertEquals(dem.elevationSample(x, 5), shortSamples[x + 1], 0);
+        }
+    }
+
+    @SuppressWarnings("resource")
+    @Test(expected = IllegalArgumentException.class)
+    public void elevationSamplesFailsWhenOutsideOfExtent() {
+        ConstantElevationDEM dem1 = new ConstantElevationDEM(ext1, 0);
+        ConstantElevationDEM dem2 = new ConstantElevationDEM(ext2, 0);
+        dem1.union(dem2).elevationSamples(100_000, 0, 2, new double[2]);
+    }
+
+    @SuppressWarnings("resource")
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void elevationSamplesFailsWhenOffsetOverflows() {
+        ConstantElevationDEM dem1 = new ConstantElevationDEM(ext1, 0);
+        ConstantElevationDEM dem2 = new ConstantElevationDEM(ext2, 0);
+        dem1.union(dem2).elevationSamples(0, 0, 2, new double[2], Integer.MAX_VALUE);
+    }
+
     @SuppressWarnings("resource")
     @Test
     public void closeClosesBothSubDEMs() throws Exception {
@@ -95,23 +128,3 @@ public class CompositeDiscreteElevationModelTest {
         assertTrue(dem2.isClosed);
     }
 }
-
-class ConstantElevationDEM implements DiscreteElevationModel {
-    private final Interval2D extent;
-    private final double elevation;
-    boolean isClosed = false;
-
-    public ConstantElevationDEM(Interval2D extent, double elevation) {
-        this.extent = extent;
-        this.elevation = elevation;
-    }
-
-    @Override
-    public void close() throws Exception { isClosed = true; }
-
-    @Override
-    public Interval2D extent() { return extent; }
-
-    @Override
-    public double elevationSample(int x, int y) { return elevation; }
-}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package ch.epfl.alpano.dem;
+
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Flat terrain of given elevation, recording whether it was closed.
+ */
+class ConstantElevationDEM implements DiscreteElevationModel {
+    private final Interval2D extent;
+    private final double elevation;
+    boolean isClosed = false;
+
+    public ConstantElevationDEM(Interval2D extent, double elevation) {
+        this.extent = extent;
+        this.elevation = elevation;
+    }
+
+    @Override
+    public void close() throws Exception { isClosed = true; }
+
+    @Override
+    public Interval2D extent() { return extent; }
+
+    @Override
+    public double elevationSample(int x, int y) { return elevation; }
+}
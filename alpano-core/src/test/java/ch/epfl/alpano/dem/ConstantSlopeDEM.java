@@ -0,0 +1,28 @@
+package ch.epfl.alpano.dem;
+
+import ch.epfl.alpano.Interval2D;
+
+/**
+ * Plane rising by one inter-sample distance per sample, to the east and to the north.
+ */
+class ConstantSlopeDEM implements DiscreteElevationModel {
+    public final static double INTER_SAMPLE_DISTANCE =
+            2d * Math.PI * 6_371_000d / (3600d * 360d);
+
+    private final Interval2D extent;
+
+    public ConstantSlopeDEM(Interval2D extent) {
+        this.extent = extent;
+    }
+
+    @Override
+    public Interval2D extent() { return extent; }
+
+    @Override
+    public double elevationSample(int x, int y) {
+        return (x + y) * INTER_SAMPLE_DISTANCE;
+    }
+
+    @Override
+    public void close() throws Exception {}
+}
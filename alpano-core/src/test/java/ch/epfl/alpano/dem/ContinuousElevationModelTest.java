@@ -108,63 +108,62 @@ public class ContinuousElevationModelTest {
         }
     }
 
-    private static GeoPoint pointForSampleIndex(double x, double y) {
-        return new GeoPoint(toRadians(x / 3600d), toRadians(y / 3600d));
+    @Test
+    public void slopeAtSampleIsSlopeOfNeighbours() {
+        DiscreteElevationModel dDEM = new RandomElevationDEM(EXT_13_13, 1000);
+        ContinuousElevationModel cDEM = new ContinuousElevationModel(dDEM);
+        double d = ContinuousElevationModel.DISTANCE_NORTH_SOUTH;
+        for (int x = 0; x < 13; ++x) {
+            for (int y = 0; y < 13; ++y) {
+                double e = dDEM.elevationSample(x, y);
+                double da = dDEM.elevationSample(x + 1, y) - e;
+                double db = dDEM.elevationSample(x, y + 1) - e;
+                double expected = Math.acos(d / Math.sqrt(da * da + db * db + d * d));
+                assertEquals(expected, cDEM.slopeAt(pointForSampleIndex(x, y)), 1e-6);
+            }
+        }
     }
-}
-
-class RandomElevationDEM implements DiscreteElevationModel {
-    private final Interval2D extent;
-    private final double[][] elevations;
 
-    public RandomElevationDEM(Interval2D extent, int maxElevation) {
-        this.extent = extent;
-        this.elevations = randomElevations(extent.iX().size(), extent.iY().size(), maxElevation);
+    @Test
+    public void gradientAtIsSlopeOfPlane() {
+        ContinuousElevationModel cDEM = new ContinuousElevationModel(new ConstantSlopeDEM(EXT_100_100));
+        double[] gradient = new double[2];
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            GeoPoint p = pointForSampleIndex(rng.nextDouble() * 98, rng.nextDouble() * 98);
+            cDEM.gradientAt(p.longitude(), p.latitude(), gradient);
+            assertEquals(1 / Math.cos(p.latitude()), gradient[0], 1e-6);
+            assertEquals(1, gradient[1], 1e-6);
+        }
     }
 
-    private static double[][] randomElevations(int width, int height, int maxElevation) {
-        Random rng = newRandom();
-        double[][] es = new double[width][height];
-        for (int x = 0; x < width; ++x) {
-            for (int y = 0; y < height; ++y) {
-                es[x][y] = rng.nextInt(maxElevation + 1);
+    @Test
+    public void gradientAtIsFlatAtBorderOfFlatDEM() {
+        ContinuousElevationModel cDEM = new ContinuousElevationModel(new ConstantElevationDEM(EXT_100_100, 1000));
+        double[] gradient = new double[2];
+        for (double x : new double[] { -3, -0.5, 0, 50, 99.5, 100, 103 }) {
+            for (double y : new double[] { -0.5, 50, 99.5 }) {
+                GeoPoint p = pointForSampleIndex(x, y);
+                cDEM.gradientAt(p.longitude(), p.latitude(), gradient);
+                assertEquals(0, gradient[0], 0);
+                assertEquals(0, gradient[1], 0);
             }
         }
-        return es;
     }
 
-    @Override
-    public Interval2D extent() {
-        return extent;
+    @Test
+    public void primitiveOverloadsAgreeWithGeoPointOnes() {
+        DiscreteElevationModel dDEM = new RandomElevationDEM(EXT_13_13, 1000);
+        ContinuousElevationModel cDEM = new ContinuousElevationModel(dDEM);
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            GeoPoint p = pointForSampleIndex(rng.nextDouble() * 14, rng.nextDouble() * 14);
+            assertEquals(cDEM.elevationAt(p), cDEM.elevationAt(p.longitude(), p.latitude()), 0);
+            assertEquals(cDEM.slopeAt(p), cDEM.slopeAt(p.longitude(), p.latitude()), 0);
+        }
     }
 
-    @Override
-    public double elevationSample(int x, int y) {
-        return elevations[x][y];
+    private static GeoPoint pointForSampleIndex(double x, double y) {
+        return new GeoPoint(toRadians(x / 3600d), toRadians(y / 3600d));
     }
-
-    @Override
-    public void close() throws Exception { }
 }
-
-class ConstantSlopeDEM implements DiscreteElevationModel {
-    public final static double INTER_SAMPLE_DISTANCE =
-            2d * Math.PI * 6_371_000d / (3600d * 360d);
-
-    private final Interval2D extent;
-
-    public ConstantSlopeDEM(Interval2D extent) {
-        this.extent = extent;
-    }
-
-    @Override
-    public Interval2D extent() { return extent; }
-
-    @Override
-    public double elevationSample(int x, int y) {
-        return (x + y) * INTER_SAMPLE_DISTANCE;
-    }
-
-    @Override
-    public void close() throws Exception {}
-}
\ No newline at end of file
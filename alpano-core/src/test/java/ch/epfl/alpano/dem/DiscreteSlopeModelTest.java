@@ -0,0 +1,91 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+public class DiscreteSlopeModelTest {
+    private final static Interval2D EXT_13_13 = new Interval2D(
+            new Interval1D(0, 13),
+            new Interval1D(0, 13));
+    private final static double SLOPE_PRECISION = 2.5e-5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void assertSlopesOfDEM(DiscreteElevationModel dem, DiscreteSlopeModel slopes) {
+        ContinuousElevationModel cDEM = new ContinuousElevationModel(dem);
+        assertEquals(dem.extent(), slopes.extent());
+        for (int x = 0; x <= 13; ++x) {
+            for (int y = 0; y <= 13; ++y) {
+                double expected = cDEM.slopeAt(toRadians(x / 3600d), toRadians(y / 3600d));
+                assertEquals(expected, slopes.slopeSample(x, y), SLOPE_PRECISION + 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void ofComputesSlopeOfAllSamples() {
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        assertSlopesOfDEM(dem, DiscreteSlopeModel.of(dem));
+    }
+
+    @Test
+    public void cachedWritesThenReadsSidecarFile() throws Exception {
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        File sidecar = new File(folder.getRoot(), "random.slope");
+        assertSlopesOfDEM(dem, DiscreteSlopeModel.cached(dem, sidecar));
+        long lastModified = sidecar.lastModified();
+        assertSlopesOfDEM(dem, DiscreteSlopeModel.cached(dem, sidecar));
+        assertEquals(lastModified, sidecar.lastModified());
+    }
+
+    @Test
+    public void cachedRewritesSidecarFileOfOtherExtent() throws Exception {
+        File sidecar = new File(folder.getRoot(), "random.slope");
+        DiscreteSlopeModel.cached(new ConstantElevationDEM(new Interval2D(
+                new Interval1D(1, 14), new Interval1D(0, 13)), 0), sidecar);
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        assertSlopesOfDEM(dem, DiscreteSlopeModel.cached(dem, sidecar));
+    }
+
+    @Test
+    public void cachedRewritesSidecarFileOfOtherSamples() throws Exception {
+        File sidecar = new File(folder.getRoot(), "random.slope");
+        DiscreteSlopeModel.cached(new ConstantElevationDEM(EXT_13_13, 0), sidecar);
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        assertSlopesOfDEM(dem, DiscreteSlopeModel.cached(dem, sidecar));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void continuousDEMFailsWithSlopesOfOtherDEM() {
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        new ContinuousElevationModel(new ConstantElevationDEM(new Interval2D(
+                new Interval1D(0, 12), new Interval1D(0, 13)), 0), DiscreteSlopeModel.of(dem));
+    }
+
+    @Test
+    public void continuousDEMInterpolatesPrecomputedSlopes() {
+        DiscreteElevationModel dem = new RandomElevationDEM(EXT_13_13, 1000);
+        ContinuousElevationModel direct = new ContinuousElevationModel(dem);
+        ContinuousElevationModel cached = new ContinuousElevationModel(dem, DiscreteSlopeModel.of(dem));
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            double lon = toRadians((rng.nextDouble() * 16 - 1) / 3600d);
+            double lat = toRadians((rng.nextDouble() * 16 - 1) / 3600d);
+            assertEquals(direct.slopeAt(lon, lat), cached.slopeAt(lon, lat), SLOPE_PRECISION);
+            assertEquals(direct.elevationAt(lon, lat), cached.elevationAt(lon, lat), 0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.function.DoubleFunction;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+import ch.epfl.alpano.Math2;
+
+public class ElevationProfileTest {
+    private final static GeoPoint ORIGIN = new GeoPoint(toRadians(7), toRadians(46.5));
+    private final static ContinuousElevationModel WAVY = new ContinuousElevationModel(
+            new WavyDEM(new Interval2D(new Interval1D(5 * 3600, 9 * 3600), new Interval1D(45 * 3600, 48 * 3600))));
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNonCanonicalAzimuth() {
+        new ElevationProfile(WAVY, ORIGIN, Math2.PI2, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithZeroLength() {
+        new ElevationProfile(WAVY, ORIGIN, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithZeroElevationStep() {
+        new ElevationProfile(WAVY, ORIGIN, 0, 1000, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithTooLargeElevationStep() {
+        new ElevationProfile(WAVY, ORIGIN, 0, 1000, 4097);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void elevationAtFailsBeyondLength() {
+        new ElevationProfile(WAVY, ORIGIN, 0, 1000, 64).elevationAt(1001);
+    }
+
+    @Test
+    public void positionAtFollowsTheAzimuth() {
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            double azimuth = rng.nextDouble() * Math2.PI2;
+            ElevationProfile p = new ElevationProfile(WAVY, ORIGIN, azimuth, 100_000);
+            double x = rng.nextDouble() * 100_000;
+            GeoPoint position = p.positionAt(x);
+            assertEquals(position.longitude(), p.longitudeAt(x), 0);
+            assertEquals(position.latitude(), p.latitudeAt(x), 0);
+            assertEquals(x, ORIGIN.distanceTo(position), 1);
+            if (x > 1000)
+                assertEquals(0, Math2.angularDistance(azimuth, ORIGIN.azimuthTo(position)), 1e-3);
+        }
+    }
+
+    @Test
+    public void precomputedElevationsMatchSamplesExactly() {
+        ElevationProfile exact = new ElevationProfile(WAVY, ORIGIN, toRadians(30), 50_000);
+        ElevationProfile precomputed = new ElevationProfile(WAVY, ORIGIN, toRadians(30), 50_000, 64);
+        assertFalse(exact.hasPrecomputedElevations());
+        assertTrue(precomputed.hasPrecomputedElevations());
+        for (int x = 0; x <= 50_000; x += 64)
+            assertEquals(exact.elevationAt(x), precomputed.elevationAt(x), 1e-3);
+    }
+
+    @Test
+    public void precomputedElevationsAreCloseToExactOnes() {
+        ElevationProfile exact = new ElevationProfile(WAVY, ORIGIN, toRadians(120), 50_000);
+        ElevationProfile precomputed = new ElevationProfile(WAVY, ORIGIN, toRadians(120), 50_000, 16);
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            double x = rng.nextDouble() * 50_000;
+            assertEquals(exact.elevationAt(x), precomputed.elevationAt(x), 5);
+            assertEquals(exact.slopeAt(x), precomputed.slopeAt(x), 0);
+        }
+    }
+
+    @Test
+    public void profilesAreIdenticalToSingleOnes() {
+        Random rng = newRandom();
+        DoubleFunction<ElevationProfile> profiles = ElevationProfile.profiles(WAVY, ORIGIN, 60_000, 0);
+        for (int i = 0; i < RANDOM_ITERATIONS / 10; ++i) {
+            double azimuth = rng.nextDouble() * Math2.PI2;
+            ElevationProfile single = new ElevationProfile(WAVY, ORIGIN, azimuth, 60_000);
+            ElevationProfile shared = profiles.apply(azimuth);
+            assertFalse(shared.hasPrecomputedElevations());
+            for (int x = 0; x <= 60_000; x += 1000) {
+                assertEquals(single.longitudeAt(x), shared.longitudeAt(x), 0);
+                assertEquals(single.latitudeAt(x), shared.latitudeAt(x), 0);
+                assertEquals(single.elevationAt(x), shared.elevationAt(x), 0);
+            }
+        }
+    }
+
+    @Test
+    public void profilesWithElevationStepPrecomputeElevations() {
+        DoubleFunction<ElevationProfile> profiles = ElevationProfile.profiles(WAVY, ORIGIN, 10_000, 64);
+        for (double azimuth : new double[] { 0, 1, 2 }) {
+            ElevationProfile p = profiles.apply(azimuth);
+            assertTrue(p.hasPrecomputedElevations());
+            assertEquals(new ElevationProfile(WAVY, ORIGIN, azimuth, 10_000, 64).elevationAt(5000), p.elevationAt(5000), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void profilesFailsWithNonCanonicalAzimuth() {
+        ElevationProfile.profiles(WAVY, ORIGIN, 10_000, 0).apply(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void profilesFailsWithInvalidElevationStep() {
+        ElevationProfile.profiles(WAVY, ORIGIN, 10_000, 5000);
+    }
+}
@@ -0,0 +1,120 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+public class HgtDiscreteElevationModelTest {
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithInvalidName() throws Exception {
+        new HgtDiscreteElevationModel(syntheticTile("X46E006.hgt"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNonExistingFile() throws Exception {
+        new HgtDiscreteElevationModel(new File(folder.getRoot(), "N46E007.hgt"));
+    }
+
+    @Test
+    public void extentIsComputedFromName() throws Exception {
+        try (DiscreteElevationModel dem = new HgtDiscreteElevationModel(syntheticTile("N46E006.hgt"))) {
+            assertEquals(new Interval2D(new Interval1D(6 * 3600, 7 * 3600), new Interval1D(46 * 3600, 47 * 3600)),
+                    dem.extent());
+        }
+        try (DiscreteElevationModel dem = new HgtDiscreteElevationModel(syntheticTile("S01W002.hgt"))) {
+            assertEquals(new Interval2D(new Interval1D(-2 * 3600, -1 * 3600), new Interval1D(-3600, 0)),
+                    dem.extent());
+        }
+    }
+
+    @Test
+    public void elevationSampleReadsCorrectSample() throws Exception {
+        try (DiscreteElevationModel dem = new HgtDiscreteElevationModel(syntheticTile("N46E006.hgt"))) {
+            Random rng = newRandom();
+            for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+                int dx = rng.nextInt(SAMPLES_PER_DEGREE + 1), dy = rng.nextInt(SAMPLES_PER_DEGREE + 1);
+                assertEquals(syntheticElevation(dx, dy),
+                        dem.elevationSample(6 * 3600 + dx, 46 * 3600 + dy), 0);
+            }
+        }
+    }
+
+    @Test
+    public void elevationSamplesReadsCorrectRow() throws Exception {
+        try (DiscreteElevationModel dem = new HgtDiscreteElevationModel(syntheticTile("N46E006.hgt"))) {
+            int count = SAMPLES_PER_DEGREE + 1;
+            double[] samples = new double[count];
+            short[] shortSamples = new short[count + 3];
+            dem.elevationSamples(6 * 3600, 46 * 3600 + 42, count, samples);
+            dem.elevationSamples(6 * 3600 + 10, 46 * 3600 + 42, count - 10, shortSamples, 3);
+            for (int dx = 0; dx < count; ++dx)
+                assertEquals(syntheticElevation(dx, 42), samples[dx], 0);
+            for (int dx = 10; dx < count; ++dx)
+                assertEquals(syntheticElevation(dx, 42), shortSamples[dx - 7]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void elevationSamplesFailsOutsideOfExtent() throws Exception {
+        try (DiscreteElevationModel dem = new HgtDiscreteElevationModel(syntheticTile("N46E006.hgt"))) {
+            dem.elevationSamples(6 * 3600 + 1, 46 * 3600, SAMPLES_PER_DEGREE + 1, new short[SAMPLES_PER_DEGREE + 1]);
+        }
+    }
+
+    /**
+     * Elevation stored by syntheticTile for the sample at the given offsets
+     * from the south-west corner of the tile.
+     */
+    static short syntheticElevation(int dx, int dy) {
+        return (short) (dx + 7 * dy);
+    }
+
+    /**
+     * Writes (once) a tile with the given name whose samples are given by syntheticElevation.
+     */
+    static File syntheticTile(String name) throws IOException {
+        return syntheticTile(folder.getRoot(), name);
+    }
+
+    /**
+     * Writes (once) a tile with the given name in the given directory,
+     * whose samples are given by syntheticElevation.
+     */
+    static File syntheticTile(File directory, String name) throws IOException {
+        File file = new File(directory, name);
+        if (file.exists())
+            return file;
+        int side = SAMPLES_PER_DEGREE + 1;
+        ByteBuffer row = ByteBuffer.allocate(2 * side);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileChannel c = raf.getChannel()) {
+            for (int r = 0; r < side; ++r) {
+                row.clear();
+                for (int dx = 0; dx < side; ++dx)
+                    row.putShort(syntheticElevation(dx, SAMPLES_PER_DEGREE - r));
+                row.flip();
+                while (row.hasRemaining())
+                    c.write(row);
+            }
+        }
+        return file;
+    }
+}
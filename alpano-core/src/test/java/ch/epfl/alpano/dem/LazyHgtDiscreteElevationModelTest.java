@@ -0,0 +1,150 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.HgtDiscreteElevationModelTest.syntheticElevation;
+import static ch.epfl.alpano.dem.HgtDiscreteElevationModelTest.syntheticTile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.stream.IntStream;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+public class LazyHgtDiscreteElevationModelTest {
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static File directory;
+
+    @BeforeClass
+    public static void writeTiles() throws Exception {
+        directory = folder.newFolder();
+        syntheticTile(directory, "N46E006.hgt");
+        syntheticTile(directory, "N46E007.hgt");
+        syntheticTile(directory, "N47E007.hgt");
+        new File(directory, "readme.txt").createNewFile();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithEmptyDirectory() throws Exception {
+        new LazyHgtDiscreteElevationModel(folder.newFolder(), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNoMappedTile() {
+        new LazyHgtDiscreteElevationModel(directory, 0);
+    }
+
+    @Test
+    public void extentIsBoundingExtentOfTiles() throws Exception {
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1)) {
+            assertEquals(new Interval2D(new Interval1D(6 * 3600, 8 * 3600), new Interval1D(46 * 3600, 48 * 3600)),
+                    dem.extent());
+            assertEquals(0, dem.mappedTileCount());
+        }
+    }
+
+    @Test
+    public void elevationSampleMapsTilesLazily() throws Exception {
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 2)) {
+            assertEquals(syntheticElevation(10, 20), dem.elevationSample(6 * 3600 + 10, 46 * 3600 + 20), 0);
+            assertEquals(1, dem.mappedTileCount());
+            assertEquals(syntheticElevation(10, 20), dem.elevationSample(7 * 3600 + 10, 46 * 3600 + 20), 0);
+            assertEquals(2, dem.mappedTileCount());
+            assertEquals(syntheticElevation(10, 20), dem.elevationSample(7 * 3600 + 10, 47 * 3600 + 20), 0);
+            assertEquals(2, dem.mappedTileCount());
+            assertEquals(syntheticElevation(5, 5), dem.elevationSample(6 * 3600 + 5, 46 * 3600 + 5), 0);
+            dem.close();
+            assertEquals(0, dem.mappedTileCount());
+        }
+    }
+
+    @Test
+    public void elevationSampleWorksFromSeveralThreadsSwitchingTiles() throws Exception {
+        int[][] tiles = { { 6, 46 }, { 7, 46 }, { 7, 47 } };
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1)) {
+            IntStream.range(0, 30_000).parallel().forEach(i -> {
+                int[] t = tiles[(i / 7) % 3];
+                int x = (i * 31) % 3600, y = (i * 17) % 3600;
+                assertEquals(syntheticElevation(x, y), dem.elevationSample(t[0] * 3600 + x, t[1] * 3600 + y), 0);
+            });
+            assertTrue(dem.mappedTileCount() <= 1);
+        }
+    }
+
+    @Test
+    public void elevationSampleReturns0InMissingTile() throws Exception {
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1)) {
+            assertEquals(0, dem.elevationSample(6 * 3600 + 10, 47 * 3600 + 20), 0);
+            assertEquals(0, dem.mappedTileCount());
+        }
+    }
+
+    @Test
+    public void elevationSampleReadsBordersFromExistingTile() throws Exception {
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1)) {
+            assertEquals(syntheticElevation(0, 0), dem.elevationSample(7 * 3600, 47 * 3600), 0);
+            assertEquals(syntheticElevation(10, 3600), dem.elevationSample(6 * 3600 + 10, 47 * 3600), 0);
+            assertEquals(syntheticElevation(0, 3600), dem.elevationSample(7 * 3600, 48 * 3600), 0);
+            assertEquals(syntheticElevation(3600, 0), dem.elevationSample(8 * 3600, 46 * 3600), 0);
+        }
+    }
+
+    @Test
+    public void constructorIgnoresFilesOfInvalidTiles() throws Exception {
+        File d = folder.newFolder();
+        syntheticTile(d, "N46E006.hgt");
+        new File(d, "N95E200.hgt").createNewFile();
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(d, 1)) {
+            assertEquals(new Interval2D(new Interval1D(6 * 3600, 7 * 3600), new Interval1D(46 * 3600, 47 * 3600)),
+                    dem.extent());
+        }
+    }
+
+    @Test
+    public void failedMappingKeepsMappedTiles() throws Exception {
+        File d = folder.newFolder();
+        syntheticTile(d, "N46E006.hgt");
+        new File(d, "N46E007.hgt").createNewFile();
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(d, 1)) {
+            assertEquals(syntheticElevation(10, 20), dem.elevationSample(6 * 3600 + 10, 46 * 3600 + 20), 0);
+            try {
+                dem.elevationSample(7 * 3600 + 10, 46 * 3600 + 20);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // the file of the tile is truncated
+            }
+            assertEquals(1, dem.mappedTileCount());
+            assertEquals(syntheticElevation(5, 5), dem.elevationSample(6 * 3600 + 5, 46 * 3600 + 5), 0);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void elevationSampleFailsOnceClosed() throws Exception {
+        LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1);
+        dem.elevationSample(6 * 3600 + 10, 46 * 3600 + 20);
+        dem.close();
+        dem.elevationSample(6 * 3600 + 10, 46 * 3600 + 20);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void elevationSampleInMissingTileFailsOnceClosed() throws Exception {
+        LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1);
+        dem.close();
+        dem.elevationSample(6 * 3600 + 10, 47 * 3600 + 20);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void elevationSampleFailsOutsideOfExtent() throws Exception {
+        try (LazyHgtDiscreteElevationModel dem = new LazyHgtDiscreteElevationModel(directory, 1)) {
+            dem.elevationSample(5 * 3600, 46 * 3600);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+import static ch.epfl.alpano.dem.HgtDiscreteElevationModelTest.syntheticElevation;
+import static ch.epfl.alpano.dem.HgtDiscreteElevationModelTest.syntheticTile;
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.epfl.alpano.dem.PackedDiscreteElevationModel.Layout;
+
+public class PackedDiscreteElevationModelTest {
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static File packed(File hgt, Layout layout) throws IOException {
+        File packed = new File(folder.getRoot(), hgt.getName() + "." + layout);
+        if (!packed.exists())
+            PackedDiscreteElevationModel.convert(hgt, packed, layout);
+        return packed;
+    }
+
+    /**
+     * Writes a tile of random samples, including the largest possible differences between neighbours.
+     */
+    private static File randomTile(String name) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        if (file.exists())
+            return file;
+        Random rng = newRandom();
+        int side = SAMPLES_PER_DEGREE + 1;
+        ByteBuffer row = ByteBuffer.allocate(2 * side);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileChannel c = raf.getChannel()) {
+            for (int r = 0; r < side; ++r) {
+                row.clear();
+                for (int dx = 0; dx < side; ++dx)
+                    row.putShort(dx % 2 == 0 && r == 7 ? Short.MIN_VALUE : dx % 2 == 1 && r == 7 ? Short.MAX_VALUE
+                            : (short) rng.nextInt(1 << 16));
+                row.flip();
+                while (row.hasRemaining())
+                    c.write(row);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void packedTilesHaveTheSamplesOfTheHgtFile() throws Exception {
+        for (File hgt : new File[] { syntheticTile(folder.getRoot(), "N46E006.hgt"), randomTile("S01W002.hgt") }) {
+            try (DiscreteElevationModel original = new HgtDiscreteElevationModel(hgt);
+                    DiscreteElevationModel loadedRaw = PackedDiscreteElevationModel.load(packed(hgt, Layout.RAW));
+                    DiscreteElevationModel mappedRaw = PackedDiscreteElevationModel.map(packed(hgt, Layout.RAW));
+                    DiscreteElevationModel loadedDelta = PackedDiscreteElevationModel.load(packed(hgt, Layout.DELTA))) {
+                assertTrue(PackedDiscreteElevationModel.samplesEqual(original, loadedRaw));
+                assertTrue(PackedDiscreteElevationModel.samplesEqual(original, mappedRaw));
+                assertTrue(PackedDiscreteElevationModel.samplesEqual(original, loadedDelta));
+                Random rng = newRandom();
+                for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+                    int x = original.extent().iX().includedFrom() + rng.nextInt(SAMPLES_PER_DEGREE + 1);
+                    int y = original.extent().iY().includedFrom() + rng.nextInt(SAMPLES_PER_DEGREE + 1);
+                    assertEquals(original.elevationSample(x, y), mappedRaw.elevationSample(x, y), 0);
+                    assertEquals(original.elevationSample(x, y), loadedDelta.elevationSample(x, y), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void headerGivesExtentAndElevationRange() throws Exception {
+        File hgt = syntheticTile(folder.getRoot(), "N46E006.hgt");
+        try (PackedDiscreteElevationModel dem = PackedDiscreteElevationModel.load(packed(hgt, Layout.DELTA));
+                DiscreteElevationModel original = new HgtDiscreteElevationModel(hgt)) {
+            assertEquals(original.extent(), dem.extent());
+            assertEquals(syntheticElevation(0, 0), dem.minElevation());
+            assertEquals(syntheticElevation(SAMPLES_PER_DEGREE, SAMPLES_PER_DEGREE), dem.maxElevation());
+        }
+    }
+
+    @Test
+    public void deltaLayoutIsSmallerThanRawLayout() throws Exception {
+        File hgt = syntheticTile(folder.getRoot(), "N46E006.hgt");
+        assertEquals(HgtDiscreteElevationModel.HGT_FILE_LENGTH + 32, packed(hgt, Layout.RAW).length());
+        assertTrue(packed(hgt, Layout.DELTA).length() < hgt.length() / 1.9);
+    }
+
+    @Test
+    public void samplesEqualDetectsDifferentSamples() throws Exception {
+        try (DiscreteElevationModel d1 = new WavyDEM(new HgtDiscreteElevationModel(syntheticTile(folder.getRoot(), "N46E006.hgt")).extent());
+                DiscreteElevationModel d2 = new HgtDiscreteElevationModel(syntheticTile(folder.getRoot(), "N46E006.hgt"))) {
+            assertFalse(PackedDiscreteElevationModel.samplesEqual(d1, d2));
+            assertFalse(PackedDiscreteElevationModel.samplesEqual(d2, new HgtDiscreteElevationModel(randomTile("S01W002.hgt"))));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapFailsOnDeltaLayout() throws Exception {
+        PackedDiscreteElevationModel.map(packed(syntheticTile(folder.getRoot(), "N46E006.hgt"), Layout.DELTA));
+    }
+
+    @Test(expected = IOException.class)
+    public void loadFailsOnHgtFile() throws Exception {
+        PackedDiscreteElevationModel.load(syntheticTile(folder.getRoot(), "N46E006.hgt"));
+    }
+}
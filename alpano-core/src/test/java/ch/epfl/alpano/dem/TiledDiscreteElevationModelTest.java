@@ -0,0 +1,125 @@
+package ch.epfl.alpano.dem;
+
+import static ch.epfl.alpano.dem.DiscreteElevationModel.SAMPLES_PER_DEGREE;
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+
+public class TiledDiscreteElevationModelTest {
+
+    private static Interval2D degreeExtent(int lon, int lat) {
+        return new Interval2D(
+                new Interval1D(lon * SAMPLES_PER_DEGREE, (lon + 1) * SAMPLES_PER_DEGREE),
+                new Interval1D(lat * SAMPLES_PER_DEGREE, (lat + 1) * SAMPLES_PER_DEGREE));
+    }
+
+    private static List<ConstantElevationDEM> grid(int minLon, int minLat, int columns, int rows) {
+        List<ConstantElevationDEM> tiles = new ArrayList<>();
+        for (int lat = minLat; lat < minLat + rows; ++lat)
+            for (int lon = minLon; lon < minLon + columns; ++lon)
+                tiles.add(new ConstantElevationDEM(degreeExtent(lon, lat), 1000 * lon + lat));
+        return tiles;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNoTile() {
+        new TiledDiscreteElevationModel(new ArrayList<DiscreteElevationModel>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithNonDegreeTile() {
+        new TiledDiscreteElevationModel(Arrays.asList(new ConstantElevationDEM(
+                new Interval2D(new Interval1D(0, 100), new Interval1D(0, 100)), 0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithHole() {
+        List<ConstantElevationDEM> tiles = grid(5, 45, 3, 2);
+        tiles.remove(4);
+        tiles.add(new ConstantElevationDEM(degreeExtent(8, 45), 0));
+        new TiledDiscreteElevationModel(tiles);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithDuplicateTile() {
+        List<ConstantElevationDEM> tiles = grid(5, 45, 3, 2);
+        tiles.remove(4);
+        tiles.add(new ConstantElevationDEM(degreeExtent(5, 45), 0));
+        new TiledDiscreteElevationModel(tiles);
+    }
+
+    @SuppressWarnings("resource")
+    @Test
+    public void extentIsBoundingExtentOfTiles() {
+        DiscreteElevationModel dem = new TiledDiscreteElevationModel(grid(-2, 45, 4, 3));
+        assertEquals(new Interval2D(new Interval1D(-2 * 3600, 2 * 3600), new Interval1D(45 * 3600, 48 * 3600)),
+                dem.extent());
+    }
+
+    @SuppressWarnings("resource")
+    @Test(expected = IllegalArgumentException.class)
+    public void elevationSampleFailsWhenOutsideOfExtent() {
+        new TiledDiscreteElevationModel(grid(5, 45, 3, 2)).elevationSample(8 * 3600 + 1, 46 * 3600);
+    }
+
+    @SuppressWarnings("resource")
+    @Test
+    public void elevationSampleReadsFromContainingTile() {
+        DiscreteElevationModel dem = new TiledDiscreteElevationModel(grid(-2, -1, 5, 4));
+        Random rng = newRandom();
+        for (int i = 0; i < RANDOM_ITERATIONS; ++i) {
+            int x = -2 * 3600 + rng.nextInt(5 * 3600);
+            int y = -1 * 3600 + rng.nextInt(4 * 3600);
+            double expected = 1000 * Math.floorDiv(x, 3600) + Math.floorDiv(y, 3600);
+            assertEquals(expected, dem.elevationSample(x, y), 0);
+        }
+        assertEquals(1000 * 2 + 2, dem.elevationSample(3 * 3600, 3 * 3600), 0);
+    }
+
+    @SuppressWarnings("resource")
+    @Test
+    public void elevationSamplesReadsSameSamplesAsElevationSample() {
+        DiscreteElevationModel dem = new TiledDiscreteElevationModel(grid(-2, -1, 5, 4));
+        int count = 5 * 3600 + 1;
+        double[] samples = new double[count];
+        short[] shortSamples = new short[count];
+        for (int y : new int[] { -3600, 0, 1, 3600, 3 * 3600 }) {
+            dem.elevationSamples(-2 * 3600, y, count, samples);
+            dem.elevationSamples(-2 * 3600, y, count, shortSamples);
+            for (int i = 0; i < count; ++i) {
+                assertEquals(dem.elevationSample(-2 * 3600 + i, y), samples[i], 0);
+                assertEquals(dem.elevationSample(-2 * 3600 + i, y), shortSamples[i], 0);
+            }
+        }
+    }
+
+    @SuppressWarnings("resource")
+    @Test
+    public void tileReturnsTileAtGivenDegrees() {
+        List<ConstantElevationDEM> tiles = grid(5, 45, 3, 2);
+        TiledDiscreteElevationModel dem = new TiledDiscreteElevationModel(tiles);
+        assertSame(tiles.get(4), dem.tile(6, 46));
+        assertNull(dem.tile(8, 46));
+    }
+
+    @Test
+    public void closeClosesAllTiles() throws Exception {
+        List<ConstantElevationDEM> tiles = grid(5, 45, 3, 2);
+        new TiledDiscreteElevationModel(tiles).close();
+        for (ConstantElevationDEM tile : tiles)
+            assertTrue(tile.isClosed);
+    }
+}
@@ -0,0 +1,44 @@
+package ch.epfl.alpano.summit;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+public class GazetteerParserTest {
+
+    @Test
+    public void readSummitsFromReadsAllSummits() throws IOException {
+        List<Summit> summits = GazetteerParser.readSummitsFrom(new StringReader(
+                "# name;lon;lat;elevation\n"
+                + "MONT BLANC;6.865;45.8325;4810\n"
+                + "\n"
+                + "  DENT BLANCHE ; 7.6117 ; 46.0342 ; 4357  \n"));
+        assertEquals(2, summits.size());
+        assertEquals("MONT BLANC", summits.get(0).name());
+        assertEquals(toRadians(6.865), summits.get(0).position().longitude(), 1e-12);
+        assertEquals(toRadians(45.8325), summits.get(0).position().latitude(), 1e-12);
+        assertEquals(4810, summits.get(0).elevation());
+        assertEquals("DENT BLANCHE", summits.get(1).name());
+        assertEquals(4357, summits.get(1).elevation());
+    }
+
+    @Test(expected = IOException.class)
+    public void readSummitsFromFailsOnMissingField() throws IOException {
+        GazetteerParser.readSummitsFrom(new StringReader("MONT BLANC;6.865;4810\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void readSummitsFromFailsOnInvalidNumber() throws IOException {
+        GazetteerParser.readSummitsFrom(new StringReader("MONT BLANC;6.865;45.8x;4810\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void readSummitsFromFailsOnInvalidLatitude() throws IOException {
+        GazetteerParser.readSummitsFrom(new StringReader("MONT BLANC;6.865;95;4810\n"));
+    }
+}
@@ -0,0 +1,86 @@
+package ch.epfl.alpano.summit;
+
+import static ch.epfl.test.TestRandomizer.RANDOM_ITERATIONS;
+import static ch.epfl.test.TestRandomizer.newRandom;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.Math2;
+
+public class SummitIndexTest {
+
+    private static List<Summit> randomSummits(Random rng, int count, double lon0, double lon1, double lat0, double lat1) {
+        List<Summit> summits = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            GeoPoint p = new GeoPoint(toRadians(lon0 + (lon1 - lon0) * rng.nextDouble()),
+                    toRadians(lat0 + (lat1 - lat0) * rng.nextDouble()));
+            summits.add(new Summit("S" + i, p, rng.nextInt(4000)));
+        }
+        return summits;
+    }
+
+    private static Set<Summit> linearScan(List<Summit> summits, GeoPoint observer, double maxDistance, double from, double to) {
+        Set<Summit> result = new HashSet<>();
+        for (Summit s : summits) {
+            double d = observer.distanceTo(s.position());
+            double a = observer.azimuthTo(s.position());
+            if (d <= maxDistance && (from <= to ? from <= a && a <= to : from <= a || a <= to))
+                result.add(s);
+        }
+        return result;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void summitsWithinFailsWithNonCanonicalAzimuth() {
+        new SummitIndex(Collections.emptyList()).summitsWithin(new GeoPoint(0, 0), 1000, 0, Math2.PI2);
+    }
+
+    @Test
+    public void emptyIndexHasNoSummits() {
+        SummitIndex index = new SummitIndex(Collections.emptyList());
+        assertEquals(0, index.size());
+        assertTrue(index.summitsWithin(new GeoPoint(0, 0), 1e7).isEmpty());
+    }
+
+    @Test
+    public void summitsWithinIsTheSameAsLinearScan() {
+        Random rng = newRandom();
+        List<Summit> summits = randomSummits(rng, 10_000, 5, 11, 45, 48);
+        SummitIndex index = new SummitIndex(summits);
+        assertEquals(summits.size(), index.size());
+        for (int i = 0; i < RANDOM_ITERATIONS / 10; ++i) {
+            GeoPoint observer = new GeoPoint(toRadians(4 + 8 * rng.nextDouble()), toRadians(44 + 5 * rng.nextDouble()));
+            double maxDistance = rng.nextDouble() * 200_000;
+            double from = rng.nextDouble() * Math2.PI2, to = rng.nextDouble() * Math2.PI2;
+            List<Summit> found = index.summitsWithin(observer, maxDistance, from, to);
+            assertEquals(found.size(), new HashSet<>(found).size());
+            assertEquals(linearScan(summits, observer, maxDistance, from, to), new HashSet<>(found));
+        }
+    }
+
+    @Test
+    public void summitsWithinWorksAcrossTheAntimeridianAndThePoles() {
+        Random rng = newRandom();
+        List<Summit> summits = randomSummits(rng, 2_000, -180, 180, -90, 90);
+        SummitIndex index = new SummitIndex(summits);
+        GeoPoint[] observers = { new GeoPoint(toRadians(179.9), 0), new GeoPoint(toRadians(-179.9), toRadians(60)),
+                new GeoPoint(0, toRadians(89)), new GeoPoint(toRadians(45), toRadians(-88)) };
+        for (GeoPoint observer : observers) {
+            for (double maxDistance : new double[] { 500_000, 3_000_000, 30_000_000 }) {
+                assertEquals(linearScan(summits, observer, maxDistance, 0, Math.nextDown(Math2.PI2)),
+                        new HashSet<>(index.summitsWithin(observer, maxDistance)));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ch.epfl.alpano.gui;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+
+/**
+ * Computes the colour of the pixel of a raster located at a given point of a continuous DEM.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+@FunctionalInterface
+public interface ColorFunction {
+
+    /**
+     * Computes the colour of the pixel located at the given point.
+     * 
+     * @param dem continuous DEM
+     * @param longitude longitude of the point in radians
+     * @param latitude latitude of the point in radians
+     * @return the colour, as an RGB integer (0xRRGGBB)
+     */
+    public abstract int colorAt(ContinuousElevationModel dem, double longitude, double latitude);
+
+    /**
+     * Returns the function colouring the pixels of one render band, which gives the same 
+     * colours as this one but may reuse scratch state across its calls, and therefore 
+     * must be used by one thread at a time.
+     * 
+     * @return the function colouring the pixels of one band, by default this one
+     */
+    public default ColorFunction forBand() {
+        return this;
+    }
+
+    /**
+     * Returns a function colouring in gray the elevation, from black for minElevation
+     * (or less) to white for maxElevation (or more).
+     * 
+     * @param minElevation elevation drawn in black
+     * @param maxElevation elevation drawn in white
+     * @return the colour function
+     */
+    public static ColorFunction elevationGray(double minElevation, double maxElevation) {
+        double range = maxElevation - minElevation;
+        return (dem, lon, lat) -> gray((dem.elevationAt(lon, lat) - minElevation) / range);
+    }
+
+    /**
+     * Returns a function colouring in gray the slope, from black for a flat 
+     * terrain to white for a vertical one.
+     * 
+     * @return the colour function
+     */
+    public static ColorFunction slopeGray() {
+        return (dem, lon, lat) -> gray(dem.slopeAt(lon, lat) / (Math.PI / 2d));
+    }
+
+    /**
+     * Returns a function colouring the elevation with the given ramp, from its start for
+     * minElevation (or less) to its end for maxElevation (or more).
+     * 
+     * @param ramp colour ramp
+     * @param minElevation elevation coloured with the start of the ramp
+     * @param maxElevation elevation coloured with the end of the ramp
+     * @return the colour function
+     */
+    public static ColorFunction elevationRamp(ColorRamp ramp, double minElevation, double maxElevation) {
+        double scale = 1 / (maxElevation - minElevation);
+        return (dem, lon, lat) -> ramp.colorAt((dem.elevationAt(lon, lat) - minElevation) * scale);
+    }
+
+    /**
+     * Returns a function colouring the slope with the given ramp, from its start for 
+     * a flat terrain to its end for a vertical one.
+     * 
+     * @param ramp colour ramp
+     * @return the colour function
+     */
+    public static ColorFunction slopeRamp(ColorRamp ramp) {
+        double scale = 2 / Math.PI;
+        return (dem, lon, lat) -> ramp.colorAt(dem.slopeAt(lon, lat) * scale);
+    }
+
+    /**
+     * Returns a function colouring in gray the Lambertian shading of the terrain lit by a 
+     * distant light, from black where it faces away from the light to white where it faces it.
+     * 
+     * @param azimuth canonical azimuth the light comes from, in radians, usually north-west
+     * @param altitude altitude of the light above the horizon, in [0;PI/2], in radians
+     * @return the colour function
+     * @throws IllegalArgumentException if the azimuth or the altitude is invalid
+     */
+    public static ColorFunction hillshade(double azimuth, double altitude) {
+        Hillshade shade = new Hillshade(azimuth, altitude);
+        ColorRamp gray = ColorRamp.gray();
+        return shade.colorFunction((dem, lon, lat, intensity) -> gray.colorAt(intensity));
+    }
+
+    /**
+     * Returns a function colouring the elevation with the given ramp, darkened by the 
+     * Lambertian shading of the terrain lit by a distant light. The colours of the 2^8 
+     * levels of elevation and 2^8 levels of light are precomputed in one lookup table 
+     * indexed by 16 bits, both levels being combined in one index.
+     * 
+     * @param ramp colour ramp of the elevation
+     * @param minElevation elevation coloured with the start of the ramp
+     * @param maxElevation elevation coloured with the end of the ramp
+     * @param azimuth canonical azimuth the light comes from, in radians
+     * @param altitude altitude of the light above the horizon, in [0;PI/2], in radians
+     * @return the colour function
+     * @throws IllegalArgumentException if the azimuth or the altitude is invalid
+     */
+    public static ColorFunction shadedRelief(ColorRamp ramp, double minElevation, double maxElevation,
+            double azimuth, double altitude) {
+        Hillshade shade = new Hillshade(azimuth, altitude);
+        int[] colors = new int[ColorRamp.SIZE];
+        for (int e = 0; e < 256; ++e) {
+            int color = ramp.colorOfIndex(e * 257);
+            for (int l = 0; l < 256; ++l) {
+                // the ambient light keeps the shadows from being black
+                colors[(e << 8) | l] = ColorRamp.scale(color, 0.25 + 0.75 * l / 255d);
+            }
+        }
+        double scale = 1 / (maxElevation - minElevation);
+        return shade.colorFunction((dem, lon, lat, intensity) -> {
+            int e = ColorRamp.index((dem.elevationAt(lon, lat) - minElevation) * scale) >>> 8;
+            int l = ColorRamp.index(intensity) >>> 8;
+            return colors[(e << 8) | l];
+        });
+    }
+
+    /**
+     * Computes the gray colour of given intensity.
+     * 
+     * @param v intensity, clamped to [0;1]
+     * @return the colour, as an RGB integer
+     */
+    public static int gray(double v) {
+        double clampedV = max(0, min(v, 1));
+        int gray = (int) (255.9999 * clampedV);
+        return (gray << 16) | (gray << 8) | gray;
+    }
+}
@@ -0,0 +1,117 @@
+package ch.epfl.alpano.gui;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+/**
+ * Colour ramp, mapping values in [0;1] to colours interpolated linearly between stops.
+ *
+ * The ramp is precomputed once in a lookup table of 2^16 colours, indexed by the value
+ * quantized on 16 bits : the colour of a value then costs a multiplication, an integer
+ * clamping and one array read, instead of interpolating and packing the channels.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class ColorRamp {
+    /**
+     * Number of colours of the lookup table of a ramp
+     */
+    public final static int SIZE = 1 << 16;
+
+    private final static int MAX_INDEX = SIZE - 1;
+
+    private final int[] colors = new int[SIZE];
+
+    /**
+     * Builds the ramp going through the given stops.
+     *
+     * @param positions positions of the stops, strictly increasing from 0 to 1
+     * @param stopColors colours of the stops, as RGB integers (0xRRGGBB)
+     * @throws IllegalArgumentException if there are less than two stops, if both arrays
+     * have different lengths or if the positions are invalid
+     */
+    public ColorRamp(double[] positions, int[] stopColors) {
+        int n = positions.length;
+        checkArgument(n >= 2 && stopColors.length == n && positions[0] == 0 && positions[n - 1] == 1);
+        for (int s = 1; s < n; ++s) {
+            checkArgument(positions[s - 1] < positions[s]);
+        }
+
+        int s = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            double v = (double) i / MAX_INDEX;
+            while (s < n - 2 && v > positions[s + 1]) {
+                ++s;
+            }
+            double t = (v - positions[s]) / (positions[s + 1] - positions[s]);
+            colors[i] = lerp(stopColors[s], stopColors[s + 1], t);
+        }
+    }
+
+    /**
+     * @return the ramp going from black to white
+     */
+    public static ColorRamp gray() {
+        return new ColorRamp(new double[] { 0, 1 }, new int[] { 0x000000, 0xFFFFFF });
+    }
+
+    /**
+     * @return the ramp of the usual hypsometric tints : green lowlands, yellow and brown
+     * hills and mountains, gray rocks and white summits
+     */
+    public static ColorRamp hypsometric() {
+        return new ColorRamp(new double[] { 0, 0.15, 0.35, 0.6, 0.85, 1 },
+                new int[] { 0x4C8C45, 0x9CC27A, 0xE8DB8E, 0xA8784A, 0x9A928C, 0xFFFFFF });
+    }
+
+    /**
+     * Quantizes the given value on 16 bits.
+     *
+     * @param v value, clamped to [0;1] (NaN being mapped to 0)
+     * @return the index of the value in the lookup table, in [0;SIZE-1]
+     */
+    public static int index(double v) {
+        int i = (int) (v * MAX_INDEX + 0.5);
+        return i < 0 ? 0 : (i > MAX_INDEX ? MAX_INDEX : i);
+    }
+
+    /**
+     * @param v value, clamped to [0;1]
+     * @return the colour of the value, as an RGB integer
+     */
+    public int colorAt(double v) {
+        return colors[index(v)];
+    }
+
+    /**
+     * @param index index in the lookup table
+     * @return the colour of the given index, as an RGB integer
+     * @throws IndexOutOfBoundsException if the index isn't in [0;SIZE-1]
+     */
+    public int colorOfIndex(int index) {
+        return colors[index];
+    }
+
+    /**
+     * Multiplies each channel of the given colour by the given factor.
+     *
+     * @param rgb colour, as an RGB integer
+     * @param factor factor in [0;1]
+     * @return the colour scaled
+     */
+    static int scale(int rgb, double factor) {
+        int r = (int) (((rgb >>> 16) & 0xFF) * factor + 0.5);
+        int g = (int) (((rgb >>> 8) & 0xFF) * factor + 0.5);
+        int b = (int) ((rgb & 0xFF) * factor + 0.5);
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private static int lerp(int rgb1, int rgb2, double t) {
+        int rgb = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int c1 = (rgb1 >>> shift) & 0xFF, c2 = (rgb2 >>> shift) & 0xFF;
+            rgb |= (int) (c1 + (c2 - c1) * t + 0.5) << shift;
+        }
+        return rgb;
+    }
+}
@@ -0,0 +1,74 @@
+package ch.epfl.alpano.gui;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import ch.epfl.alpano.Azimuth;
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+
+/**
+ * Lambertian shading of a continuous DEM lit by a distant light : the intensity at a point
+ * is the cosine of the angle between the normal to the terrain and the direction of the light,
+ * the normal being computed from the gradient of the elevation given by the DEM.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+final class Hillshade {
+    private final double lightEast, lightNorth, lightUp;
+
+    /**
+     * @param azimuth canonical azimuth the light comes from, in radians
+     * @param altitude altitude of the light above the horizon, in [0;PI/2], in radians
+     * @throws IllegalArgumentException if the azimuth or the altitude is invalid
+     */
+    Hillshade(double azimuth, double altitude) {
+        checkArgument(Azimuth.isCanonical(azimuth) && 0 <= altitude && altitude <= Math.PI / 2);
+        lightEast = Math.sin(azimuth) * Math.cos(altitude);
+        lightNorth = Math.cos(azimuth) * Math.cos(altitude);
+        lightUp = Math.sin(altitude);
+    }
+
+    /**
+     * Returns a colour function computing the colour of each pixel from the intensity 
+     * of the light on it. Each render band shades with its own gradient array, given by 
+     * forBand, instead of allocating one per pixel.
+     * 
+     * @param color colour of a pixel given the intensity of the light on it
+     * @return the colour function
+     */
+    ColorFunction colorFunction(ShadedColor color) {
+        return new ColorFunction() {
+            @Override
+            public int colorAt(ContinuousElevationModel dem, double longitude, double latitude) {
+                return forBand().colorAt(dem, longitude, latitude);
+            }
+
+            @Override
+            public ColorFunction forBand() {
+                double[] gradient = new double[2];
+                return (dem, lon, lat) -> color.colorAt(dem, lon, lat, intensityAt(dem, lon, lat, gradient));
+            }
+        };
+    }
+
+    /**
+     * @param gradient array of at least two elements receiving the gradient of the DEM 
+     * at the point, overwritten by each call
+     * @return the intensity of the light at the given point, in [0;1]
+     */
+    double intensityAt(ContinuousElevationModel dem, double longitude, double latitude, double[] gradient) {
+        dem.gradientAt(longitude, latitude, gradient);
+        double dzEast = gradient[0], dzNorth = gradient[1];
+        // the normal is (-dzEast, -dzNorth, 1), normalized
+        double dot = -dzEast * lightEast - dzNorth * lightNorth + lightUp;
+        return Math.max(0, dot / Math.sqrt(dzEast * dzEast + dzNorth * dzNorth + 1));
+    }
+
+    /**
+     * Computes the colour of a pixel given the intensity of the light on it.
+     */
+    @FunctionalInterface
+    interface ShadedColor {
+        int colorAt(ContinuousElevationModel dem, double longitude, double latitude, double intensity);
+    }
+}
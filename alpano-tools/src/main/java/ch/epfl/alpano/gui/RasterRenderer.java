@@ -0,0 +1,178 @@
+package ch.epfl.alpano.gui;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+
+/**
+ * Renders rasters of a continuous DEM in parallel : the rows of the raster are split 
+ * into bands, which are coloured by the threads of a fork/join pool directly 
+ * in the pixel array of the image.
+ * 
+ * The pixel of column x and row y of the raster is located at longitude
+ * originLongitude + x * longitudeStep and latitude originLatitude + y * latitudeStep.
+ * 
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class RasterRenderer {
+    private final static int DEFAULT_BAND_HEIGHT = 16;
+
+    private final ContinuousElevationModel dem;
+    private final ForkJoinPool pool;
+    private final int bandHeight;
+
+    /**
+     * Builds a renderer of the given DEM, using the common fork/join pool.
+     * 
+     * @param dem continuous DEM
+     */
+    public RasterRenderer(ContinuousElevationModel dem) {
+        this(dem, ForkJoinPool.commonPool(), DEFAULT_BAND_HEIGHT);
+    }
+
+    /**
+     * Builds a renderer of the given DEM, using the given pool and bands of given height.
+     * 
+     * @param dem continuous DEM
+     * @param pool pool whose threads render the bands
+     * @param bandHeight maximum number of rows of a band
+     * @throws IllegalArgumentException if bandHeight isn't strictly positive
+     */
+    public RasterRenderer(ContinuousElevationModel dem, ForkJoinPool pool, int bandHeight) {
+        checkArgument(bandHeight > 0);
+        this.dem = Objects.requireNonNull(dem);
+        this.pool = Objects.requireNonNull(pool);
+        this.bandHeight = bandHeight;
+    }
+
+    /**
+     * Renders a raster of given size in a new image.
+     * 
+     * @param color colour function of the pixels
+     * @param width width of the raster
+     * @param height height of the raster
+     * @param originLongitude longitude of the pixel (0, 0)
+     * @param originLatitude latitude of the pixel (0, 0)
+     * @param longitudeStep difference of longitude between two successive columns
+     * @param latitudeStep difference of latitude between two successive rows
+     * @return the image
+     */
+    public BufferedImage renderImage(ColorFunction color, int width, int height, 
+            double originLongitude, double originLatitude, double longitudeStep, double latitudeStep) {
+        BufferedImage image = new BufferedImage(width, height, TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        render(color, pixels, width, height, originLongitude, originLatitude, longitudeStep, latitudeStep);
+        return image;
+    }
+
+    /**
+     * Renders a raster of given size as a PNG image written to the given stream, strip by strip :
+     * only a few strips of stripHeight rows are held in memory at once, whatever the size
+     * of the raster, and each strip is rendered while the previous ones are compressed.
+     * 
+     * @param color colour function of the pixels
+     * @param width width of the raster
+     * @param height height of the raster
+     * @param originLongitude longitude of the pixel (0, 0)
+     * @param originLatitude latitude of the pixel (0, 0)
+     * @param longitudeStep difference of longitude between two successive columns
+     * @param latitudeStep difference of latitude between two successive rows
+     * @param stripHeight maximum number of rows of a strip
+     * @param out stream receiving the image, closed at the end
+     * @throws IOException if the image can't be written
+     * @throws IllegalArgumentException if the size or the strip height isn't strictly positive
+     */
+    public void renderPng(ColorFunction color, int width, int height, 
+            double originLongitude, double originLatitude, double longitudeStep, double latitudeStep,
+            int stripHeight, OutputStream out) throws IOException {
+        checkArgument(stripHeight > 0 && (long) width * stripHeight <= Integer.MAX_VALUE);
+        try (StripPngWriter writer = new StripPngWriter(out, width, height)) {
+            int[] pixels = new int[width * Math.min(stripHeight, height)];
+            for (int y = 0; y < height; y += stripHeight) {
+                int rows = Math.min(stripHeight, height - y);
+                render(color, pixels, width, rows, 
+                        originLongitude, originLatitude + y * latitudeStep, longitudeStep, latitudeStep);
+                writer.writeRows(pixels, 0, rows);
+            }
+        }
+    }
+
+    /**
+     * Renders a raster of given size in the given array of pixels, row by row.
+     * 
+     * @param color colour function of the pixels
+     * @param pixels array of at least width * height pixels
+     * @param width width of the raster
+     * @param height height of the raster
+     * @param originLongitude longitude of the pixel (0, 0)
+     * @param originLatitude latitude of the pixel (0, 0)
+     * @param longitudeStep difference of longitude between two successive columns
+     * @param latitudeStep difference of latitude between two successive rows
+     * @throws IllegalArgumentException if the size is negative or the array too small
+     */
+    public void render(ColorFunction color, int[] pixels, int width, int height, 
+            double originLongitude, double originLatitude, double longitudeStep, double latitudeStep) {
+        checkArgument(width >= 0 && height >= 0 && pixels.length >= (long) width * height);
+        Objects.requireNonNull(color);
+        pool.invoke(new Band(color, pixels, width, 0, height, 
+                originLongitude, originLatitude, longitudeStep, latitudeStep));
+    }
+
+    /**
+     * Task rendering the rows [fromRow;toRow[, split in two halves while 
+     * they are higher than the band height.
+     */
+    @SuppressWarnings("serial")
+    private final class Band extends RecursiveAction {
+        private final ColorFunction color;
+        private final int[] pixels;
+        private final int width;
+        private final int fromRow;
+        private final int toRow;
+        private final double originLongitude, originLatitude;
+        private final double longitudeStep, latitudeStep;
+
+        Band(ColorFunction color, int[] pixels, int width, int fromRow, int toRow,
+                double originLongitude, double originLatitude, double longitudeStep, double latitudeStep) {
+            this.color = color;
+            this.pixels = pixels;
+            this.width = width;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.originLongitude = originLongitude;
+            this.originLatitude = originLatitude;
+            this.longitudeStep = longitudeStep;
+            this.latitudeStep = latitudeStep;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > bandHeight) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new Band(color, pixels, width, fromRow, middle, 
+                                originLongitude, originLatitude, longitudeStep, latitudeStep),
+                        new Band(color, pixels, width, middle, toRow, 
+                                originLongitude, originLatitude, longitudeStep, latitudeStep));
+                return;
+            }
+            ColorFunction bandColor = color.forBand();
+            for (int y = fromRow; y < toRow; ++y) {
+                double lat = originLatitude + y * latitudeStep;
+                int offset = y * width;
+                for (int x = 0; x < width; ++x) {
+                    pixels[offset + x] = bandColor.colorAt(dem, originLongitude + x * longitudeStep, lat);
+                }
+            }
+        }
+    }
+}
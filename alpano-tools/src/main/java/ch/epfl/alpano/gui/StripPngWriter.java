@@ -0,0 +1,250 @@
+package ch.epfl.alpano.gui;
+
+import static ch.epfl.alpano.Preconditions.checkArgument;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a PNG image of 8-bit RGB pixels incrementally, strip of rows by strip of rows,
+ * so that images much larger than the memory can be written.
+ *
+ * Each strip is filtered (with the PNG filter Sub) by the thread writing it, then queued
+ * to a second thread which compresses the strips and writes them as IDAT chunks. The queue
+ * holds a bounded number of strips, the writing thread waiting while it is full : the memory
+ * used is therefore proportional to the size of the strips, and not to the size of the image,
+ * and the rendering of a strip overlaps the compression of the previous ones.
+ *
+ * @author Deniz Ira (269728) & Nicolas d'Argenlieu (276507)
+ *
+ */
+public final class StripPngWriter implements Closeable {
+    private final static byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private final static byte FILTER_SUB = 1;
+    private final static int IDAT_SIZE = 1 << 16;
+    private final static int DEFAULT_QUEUED_STRIPS = 2;
+    private final static byte[] END = new byte[0];
+
+    private final DataOutputStream out;
+    private final int width, height;
+    private final BlockingQueue<byte[]> strips;
+    private final Thread deflater;
+    private final int level;
+    private volatile Throwable failure;
+    private volatile boolean abandoned;
+    private int rowsWritten;
+    private boolean closed;
+
+    /**
+     * Starts writing a PNG image of given size, compressed with the default level,
+     * at most two strips waiting to be compressed.
+     *
+     * @param out stream receiving the image, closed with the writer
+     * @param width width of the image
+     * @param height height of the image
+     * @throws IOException if the header can't be written
+     * @throws IllegalArgumentException if the size isn't strictly positive
+     */
+    public StripPngWriter(OutputStream out, int width, int height) throws IOException {
+        this(out, width, height, DEFAULT_QUEUED_STRIPS, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Starts writing a PNG image of given size.
+     *
+     * @param out stream receiving the image, closed with the writer
+     * @param width width of the image
+     * @param height height of the image
+     * @param queuedStrips maximum number of strips waiting to be compressed
+     * @param level compression level, in [0;9] or Deflater.DEFAULT_COMPRESSION
+     * @throws IOException if the header can't be written
+     * @throws IllegalArgumentException if the size or the number of queued strips isn't strictly
+     * positive, if a row is larger than 2 GB or if the level is invalid
+     */
+    public StripPngWriter(OutputStream out, int width, int height, int queuedStrips, int level) throws IOException {
+        checkArgument(width > 0 && height > 0 && queuedStrips > 0 && 3L * width + 1 <= Integer.MAX_VALUE);
+        checkArgument((0 <= level && level <= 9) || level == Deflater.DEFAULT_COMPRESSION);
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+        this.level = level;
+        this.strips = new ArrayBlockingQueue<>(queuedStrips);
+
+        this.out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        int[] fields = { width, height };
+        for (int i = 0; i < 2; ++i) {
+            for (int b = 0; b < 4; ++b) {
+                header[4 * i + b] = (byte) (fields[i] >>> (24 - 8 * b));
+            }
+        }
+        header[8] = 8; // bits per channel
+        header[9] = 2; // RGB
+        writeChunk("IHDR", header, header.length);
+
+        deflater = new Thread(this::deflateStrips, "png-deflater");
+        deflater.setDaemon(true);
+        deflater.start();
+    }
+
+    /**
+     * Writes the next rows of the image.
+     *
+     * @param pixels pixels of the rows, row by row, as RGB integers (0xRRGGBB)
+     * @param offset index of the first pixel of the rows in the array
+     * @param rows number of rows
+     * @throws IOException if the image can't be written, or if the compressing thread failed
+     * @throws IllegalArgumentException if the array is too small, or if the image has less
+     * than rows rows left
+     * @throws IllegalStateException if the writer is closed
+     */
+    public void writeRows(int[] pixels, int offset, int rows) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("writer closed");
+        }
+        checkArgument(rows >= 0 && rows <= height - rowsWritten && offset >= 0
+                && (long) offset + (long) rows * width <= pixels.length);
+        checkArgument((3L * width + 1) * rows <= Integer.MAX_VALUE);
+        checkFailure();
+        if (rows == 0) {
+            return;
+        }
+
+        int rowSize = 3 * width + 1;
+        byte[] strip = new byte[rows * rowSize];
+        for (int y = 0; y < rows; ++y) {
+            int p = y * rowSize, first = offset + y * width;
+            strip[p++] = FILTER_SUB;
+            int previous = 0;
+            for (int x = 0; x < width; ++x) {
+                int rgb = pixels[first + x];
+                strip[p++] = (byte) ((rgb >>> 16) - (previous >>> 16));
+                strip[p++] = (byte) ((rgb >>> 8) - (previous >>> 8));
+                strip[p++] = (byte) (rgb - previous);
+                previous = rgb;
+            }
+        }
+        put(strip);
+        rowsWritten += rows;
+    }
+
+    /**
+     * Finishes the image and closes the stream.
+     *
+     * If the calling thread is interrupted while waiting for the compressing thread, the
+     * image is abandoned and the compressing thread stopped.
+     * 
+     * @throws IOException if the image can't be written, or if the compressing thread failed
+     * @throws InterruptedIOException if the calling thread was interrupted
+     * @throws IllegalStateException if some rows of the image weren't written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            strips.put(END);
+            deflater.join();
+            checkFailure();
+            if (rowsWritten < height) {
+                throw new IllegalStateException("only " + rowsWritten + " rows of " + height + " written");
+            }
+            writeChunk("IEND", new byte[0], 0);
+        } catch (InterruptedException e) {
+            abandoned = true;
+            deflater.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void put(byte[] strip) throws IOException {
+        try {
+            strips.put(strip);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable f = failure;
+        if (f != null) {
+            throw new IOException("compression of the image failed", f);
+        }
+    }
+
+    /**
+     * Body of the compressing thread : compresses the queued strips until the end is queued,
+     * and after a failure keeps taking them so that the writing thread never blocks, until
+     * the image is abandoned.
+     */
+    private void deflateStrips() {
+        Deflater d = new Deflater(level);
+        byte[] buffer = new byte[IDAT_SIZE];
+        int size = 0;
+        try {
+            while (!abandoned) {
+                byte[] strip = strips.take();
+                if (failure != null) {
+                    if (strip == END) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    if (strip == END) {
+                        d.finish();
+                    } else {
+                        d.setInput(strip);
+                    }
+                    while (strip == END ? !d.finished() : !d.needsInput()) {
+                        size += d.deflate(buffer, size, buffer.length - size);
+                        if (size == buffer.length) {
+                            writeChunk("IDAT", buffer, size);
+                            size = 0;
+                        }
+                    }
+                    if (strip == END) {
+                        if (size > 0) {
+                            writeChunk("IDAT", buffer, size);
+                        }
+                        return;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure = e;
+                    if (strip == END) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        } finally {
+            d.end();
+        }
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] t = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(t);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(t);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+}
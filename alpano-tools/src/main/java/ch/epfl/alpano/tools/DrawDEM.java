@@ -0,0 +1,49 @@
+package ch.epfl.alpano.tools;
+
+import ch.epfl.alpano.*;
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+import ch.epfl.alpano.dem.WavyDEM;
+import ch.epfl.alpano.gui.ColorFunction;
+import ch.epfl.alpano.gui.ColorRamp;
+import ch.epfl.alpano.gui.RasterRenderer;
+
+import static java.lang.Math.*;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public final class DrawDEM {
+  final static int STRIP_HEIGHT = 64;
+
+  @SuppressWarnings("resource")
+  public static void main(String[] args)
+    throws IOException {
+
+    DiscreteElevationModel dDEM1 =
+      new WavyDEM(new Interval2D(new Interval1D(0, 50),
+                                 new Interval1D(0, 100)));
+    DiscreteElevationModel dDEM2 =
+      new WavyDEM(new Interval2D(new Interval1D(50, 100),
+                                 new Interval1D(0, 100)));
+    DiscreteElevationModel dDEM =
+      dDEM1.union(dDEM2);
+    ContinuousElevationModel cDEM =
+      new ContinuousElevationModel(dDEM);
+
+    int size = 300;
+    double step = toRadians((100d / 3600d) / (size - 1));
+    RasterRenderer renderer = new RasterRenderer(cDEM);
+    renderer.renderPng(ColorFunction.elevationGray(0, 1000),
+      size, size, 0, 0, step, step, STRIP_HEIGHT,
+      new BufferedOutputStream(new FileOutputStream("elevation.png")));
+    renderer.renderPng(ColorFunction.slopeGray(),
+      size, size, 0, 0, step, step, STRIP_HEIGHT,
+      new BufferedOutputStream(new FileOutputStream("slope.png")));
+    renderer.renderPng(ColorFunction.shadedRelief(ColorRamp.hypsometric(), 0, 1000,
+        toRadians(315), toRadians(45)),
+      size, size, 0, 0, step, step, STRIP_HEIGHT,
+      new BufferedOutputStream(new FileOutputStream("dem-relief.png")));
+  }
+}
@@ -0,0 +1,60 @@
+package ch.epfl.alpano.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+import ch.epfl.alpano.GeoPoint;
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+import ch.epfl.alpano.dem.ElevationProfile;
+import ch.epfl.alpano.dem.HgtDiscreteElevationModel;
+import ch.epfl.alpano.gui.StripPngWriter;
+
+final class DrawElevationProfile {
+  final static File HGT_FILE = new File("N46E006.hgt");
+  final static double MAX_ELEVATION = 1_500;
+  final static int LENGTH = 111_000;
+  final static double AZIMUTH = Math.toRadians(27.97);
+  final static double LONGITUDE = Math.toRadians(6.15432);
+  final static double LATITUDE = Math.toRadians(46.20562);
+  final static int WIDTH = 800, HEIGHT = 100;
+  final static int STRIP_HEIGHT = 64;
+
+  public static void main(String[] as) throws Exception {
+    DiscreteElevationModel dDEM =
+      new HgtDiscreteElevationModel(HGT_FILE);
+    ContinuousElevationModel cDEM =
+      new ContinuousElevationModel(dDEM);
+    GeoPoint o =
+      new GeoPoint(LONGITUDE, LATITUDE);
+    ElevationProfile p =
+      new ElevationProfile(cDEM, o, AZIMUTH, LENGTH);
+
+    int BLACK = 0x00_00_00, WHITE = 0xFF_FF_FF;
+
+    int[] yL = new int[WIDTH];
+    for (int x = 0; x < WIDTH; ++x) {
+      double pX = x * (double) LENGTH / (WIDTH - 1);
+      double pY = p.elevationAt(pX);
+      yL[x] = (int)((pY / MAX_ELEVATION) * (HEIGHT - 1));
+    }
+    dDEM.close();
+
+    // The image is written strip by strip, from its top row
+    int[] strip = new int[WIDTH * STRIP_HEIGHT];
+    try (StripPngWriter w = new StripPngWriter(
+           new BufferedOutputStream(new FileOutputStream("profile.png")), WIDTH, HEIGHT)) {
+      for (int r0 = 0; r0 < HEIGHT; r0 += STRIP_HEIGHT) {
+        int rows = Math.min(STRIP_HEIGHT, HEIGHT - r0);
+        for (int r = 0; r < rows; ++r) {
+          int y = HEIGHT - 1 - (r0 + r);
+          for (int x = 0; x < WIDTH; ++x) {
+            strip[r * WIDTH + x] = y < yL[x] ? BLACK : WHITE;
+          }
+        }
+        w.writeRows(strip, 0, rows);
+      }
+    }
+  }
+}
\ No newline at end of file
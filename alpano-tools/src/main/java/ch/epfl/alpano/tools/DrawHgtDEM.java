@@ -0,0 +1,53 @@
+package ch.epfl.alpano.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+import ch.epfl.alpano.dem.HgtDiscreteElevationModel;
+import ch.epfl.alpano.gui.ColorFunction;
+import ch.epfl.alpano.gui.ColorRamp;
+import ch.epfl.alpano.gui.RasterRenderer;
+
+final class DrawHgtDEM {
+  final static File HGT_FILE = new File("N46E006.hgt");
+  final static double ORIGIN_LON = Math.toRadians(6.25);
+  final static double ORIGIN_LAT = Math.toRadians(46.25);
+  final static double WIDTH = Math.toRadians(0.5);
+  final static int IMAGE_SIZE = 300;
+  final static double MIN_ELEVATION = 200;
+  final static double MAX_ELEVATION = 1_500;
+  final static int STRIP_HEIGHT = 64;
+  final static double LIGHT_AZIMUTH = Math.toRadians(315);
+  final static double LIGHT_ALTITUDE = Math.toRadians(45);
+
+  public static void main(String[] as) throws Exception {
+      System.out.println(ORIGIN_LON*Math.toDegrees(1)*3600);
+      System.out.println(ORIGIN_LAT*Math.toDegrees(1)*3600);
+    DiscreteElevationModel dDEM =
+      new HgtDiscreteElevationModel(HGT_FILE);
+    
+    ContinuousElevationModel cDEM =
+      new ContinuousElevationModel(dDEM);
+
+    double step = WIDTH / (IMAGE_SIZE - 1);
+    // The first row of the image is the northernmost one
+    RasterRenderer renderer = new RasterRenderer(cDEM);
+    renderer.renderPng(
+      ColorFunction.elevationGray(MIN_ELEVATION, MAX_ELEVATION),
+      IMAGE_SIZE, IMAGE_SIZE,
+      ORIGIN_LON, ORIGIN_LAT + (IMAGE_SIZE - 1) * step, step, -step,
+      STRIP_HEIGHT, new BufferedOutputStream(new FileOutputStream("dem.png")));
+    renderer.renderPng(
+      ColorFunction.shadedRelief(ColorRamp.hypsometric(), MIN_ELEVATION, MAX_ELEVATION,
+        LIGHT_AZIMUTH, LIGHT_ALTITUDE),
+      IMAGE_SIZE, IMAGE_SIZE,
+      ORIGIN_LON, ORIGIN_LAT + (IMAGE_SIZE - 1) * step, step, -step,
+      STRIP_HEIGHT, new BufferedOutputStream(new FileOutputStream("hgt-relief.png")));
+    dDEM.close();
+    
+    
+  }
+}
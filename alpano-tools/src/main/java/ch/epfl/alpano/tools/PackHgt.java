@@ -0,0 +1,40 @@
+package ch.epfl.alpano.tools;
+
+import java.io.File;
+
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+import ch.epfl.alpano.dem.HgtDiscreteElevationModel;
+import ch.epfl.alpano.dem.PackedDiscreteElevationModel;
+import ch.epfl.alpano.dem.PackedDiscreteElevationModel.Layout;
+
+/**
+ * Converts HGT files into packed tiles, and checks that both have the same samples.
+ * 
+ * Usage : PackHgt RAW|DELTA N46E006.hgt [N46E007.hgt ...], each tile being written
+ * next to its HGT file, with the extension .packed
+ */
+final class PackHgt {
+  public static void main(String[] as) throws Exception {
+    if (as.length < 2) {
+      System.err.println("usage: PackHgt RAW|DELTA file.hgt...");
+      System.exit(1);
+    }
+    Layout layout = Layout.valueOf(as[0]);
+    boolean allEqual = true;
+    for (int i = 1; i < as.length; ++i) {
+      File hgt = new File(as[i]);
+      File packed = new File(hgt.getPath().replaceFirst("\\.hgt$", "") + ".packed");
+      PackedDiscreteElevationModel.convert(hgt, packed, layout);
+      try (DiscreteElevationModel original = new HgtDiscreteElevationModel(hgt);
+          PackedDiscreteElevationModel converted = PackedDiscreteElevationModel.load(packed)) {
+        boolean equal = PackedDiscreteElevationModel.samplesEqual(original, converted);
+        allEqual &= equal;
+        System.out.printf("%s -> %s : %d -> %d bytes, elevations [%d;%d], %s%n",
+            hgt, packed, hgt.length(), packed.length(),
+            converted.minElevation(), converted.maxElevation(),
+            equal ? "identical samples" : "DIFFERENT SAMPLES");
+      }
+    }
+    System.exit(allEqual ? 0 : 2);
+  }
+}
@@ -0,0 +1,61 @@
+package ch.epfl.alpano.gui;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ColorRampTest {
+    private final static long SEED = 0xC010;
+
+    @Test
+    public void rampGoesThroughItsStops() {
+        ColorRamp r = new ColorRamp(new double[] { 0, 0.25, 1 }, new int[] { 0x000000, 0xFF0000, 0x00FF00 });
+        assertEquals(0x000000, r.colorAt(0));
+        assertEquals(0xFF0000, r.colorAt(0.25));
+        assertEquals(0x00FF00, r.colorAt(1));
+        assertEquals(0x800000, r.colorAt(0.125));
+        int c = r.colorAt(0.625);
+        assertEquals(0x80, c >>> 16, 1);
+        assertEquals(0x80, (c >>> 8) & 0xFF, 1);
+        assertEquals(0, c & 0xFF);
+    }
+
+    @Test
+    public void grayRampIsCloseToGray() {
+        ColorRamp gray = ColorRamp.gray();
+        Random rng = new Random(SEED);
+        for (int i = 0; i < 1000; ++i) {
+            double v = rng.nextDouble();
+            int expected = ColorFunction.gray(v) & 0xFF, actual = gray.colorAt(v) & 0xFF;
+            assertEquals(expected, actual, 1);
+            assertEquals(actual * 0x010101, gray.colorAt(v));
+        }
+    }
+
+    @Test
+    public void indexClampsValue() {
+        assertEquals(0, ColorRamp.index(-3));
+        assertEquals(0, ColorRamp.index(Double.NaN));
+        assertEquals(ColorRamp.SIZE - 1, ColorRamp.index(1.5));
+        assertEquals(ColorRamp.SIZE - 1, ColorRamp.index(Double.POSITIVE_INFINITY));
+        assertEquals(ColorRamp.SIZE / 2, ColorRamp.index(0.5));
+        assertEquals(ColorRamp.hypsometric().colorOfIndex(0), ColorRamp.hypsometric().colorAt(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithUnsortedStops() {
+        new ColorRamp(new double[] { 0, 0.5, 0.5, 1 }, new int[4]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithStopsNotCoveringRange() {
+        new ColorRamp(new double[] { 0, 0.9 }, new int[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithOneStop() {
+        new ColorRamp(new double[] { 0 }, new int[1]);
+    }
+}
@@ -0,0 +1,155 @@
+package ch.epfl.alpano.gui;
+
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import ch.epfl.alpano.Interval1D;
+import ch.epfl.alpano.Interval2D;
+import ch.epfl.alpano.dem.ContinuousElevationModel;
+import ch.epfl.alpano.dem.DiscreteElevationModel;
+
+public class RasterRendererTest {
+    private final static ContinuousElevationModel DEM = new ContinuousElevationModel(new SlopedDEM());
+    private final static double STEP = toRadians(1 / 3600d);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorFailsWithEmptyBands() {
+        new RasterRenderer(DEM, ForkJoinPool.commonPool(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renderFailsWithTooSmallArray() {
+        new RasterRenderer(DEM).render(ColorFunction.slopeGray(), new int[99], 10, 10, 0, 0, STEP, STEP);
+    }
+
+    @Test
+    public void renderColorsEveryPixelAtItsPosition() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int width = 37, height = 101;
+        ColorFunction color = (dem, lon, lat) -> (int) Math.round(dem.elevationAt(lon, lat));
+        int[] pixels = new int[width * height];
+        new RasterRenderer(DEM, pool, 3).render(color, pixels, width, height, 2 * STEP, 150 * STEP, STEP, -STEP);
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                assertEquals(1000 * (150 - y) + 2 + x, pixels[y * width + x]);
+        pool.shutdown();
+    }
+
+    @Test
+    public void renderImageIsGrayElevation() {
+        BufferedImage i = new RasterRenderer(DEM).renderImage(ColorFunction.elevationGray(0, 255_000),
+                20, 30, 0, 0, STEP, STEP);
+        assertEquals(20, i.getWidth());
+        assertEquals(30, i.getHeight());
+        for (int y = 0; y < 30; ++y)
+            for (int x = 0; x < 20; ++x)
+                assertEquals(ColorFunction.gray((1000 * y + x) / 255_000d), i.getRGB(x, y) & 0xFFFFFF);
+    }
+
+    @Test
+    public void renderPngIsSameAsRenderImage() throws IOException {
+        ColorFunction color = ColorFunction.elevationGray(0, 255_000);
+        RasterRenderer r = new RasterRenderer(DEM);
+        BufferedImage expected = r.renderImage(color, 50, 70, 0, 100 * STEP, STEP, -STEP);
+        ByteArrayOutputStream s = new ByteArrayOutputStream();
+        r.renderPng(color, 50, 70, 0, 100 * STEP, STEP, -STEP, 16, s);
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(s.toByteArray()));
+        for (int y = 0; y < 70; ++y)
+            for (int x = 0; x < 50; ++x)
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+    }
+
+    @Test
+    public void grayClampsIntensity() {
+        assertEquals(0x000000, ColorFunction.gray(-1));
+        assertEquals(0xFFFFFF, ColorFunction.gray(2));
+        assertEquals(0x7F7F7F, ColorFunction.gray(0.5));
+    }
+
+    @Test
+    public void hillshadeOfFlatTerrainIsSineOfAltitude() {
+        ContinuousElevationModel flat = new ContinuousElevationModel(new FlatDEM());
+        for (double altitude : new double[] { 0, toRadians(30), toRadians(45), Math.PI / 2 }) {
+            int expected = ColorRamp.gray().colorAt(Math.sin(altitude));
+            assertEquals(expected, ColorFunction.hillshade(toRadians(315), altitude).colorAt(flat, 500 * STEP, 500 * STEP));
+        }
+    }
+
+    @Test
+    public void hillshadeIsBrightOnSlopeFacingLight() {
+        // the terrain rises steeply to the north, so faces the south
+        int south = ColorFunction.hillshade(Math.PI, toRadians(45)).colorAt(DEM, 500 * STEP, 500 * STEP) & 0xFF;
+        int north = ColorFunction.hillshade(0, toRadians(45)).colorAt(DEM, 500 * STEP, 500 * STEP) & 0xFF;
+        int east = ColorFunction.hillshade(Math.PI / 2, toRadians(45)).colorAt(DEM, 500 * STEP, 500 * STEP) & 0xFF;
+        assertEquals(0, north);
+        assertTrue(south > east && east > north);
+    }
+
+    @Test
+    public void shadedReliefIsDarkerInShadow() {
+        ContinuousElevationModel flat = new ContinuousElevationModel(new FlatDEM());
+        ColorRamp ramp = ColorRamp.hypsometric();
+        int lit = ColorFunction.shadedRelief(ramp, 0, 1000, toRadians(315), Math.PI / 2).colorAt(flat, 500 * STEP, 500 * STEP);
+        int grazing = ColorFunction.shadedRelief(ramp, 0, 1000, toRadians(315), 0).colorAt(flat, 500 * STEP, 500 * STEP);
+        int base = ramp.colorAt(500 / 1000d);
+        for (int shift = 0; shift <= 16; shift += 8) {
+            assertEquals((base >>> shift) & 0xFF, (lit >>> shift) & 0xFF, 2);
+            assertEquals(((base >>> shift) & 0xFF) / 4d, (grazing >>> shift) & 0xFF, 2);
+        }
+    }
+
+    @Test
+    public void renderOfShadedReliefIsSameAsItsColors() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int width = 23, height = 61;
+        ColorFunction color = ColorFunction.shadedRelief(ColorRamp.hypsometric(), 0, 255_000, toRadians(315), toRadians(45));
+        int[] pixels = new int[width * height];
+        new RasterRenderer(DEM, pool, 3).render(color, pixels, width, height, 0, 100 * STEP, STEP, -STEP);
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                assertEquals(color.colorAt(DEM, x * STEP, (100 - y) * STEP), pixels[y * width + x]);
+        pool.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hillshadeFailsWithLightBelowHorizon() {
+        ColorFunction.hillshade(0, -0.1);
+    }
+
+    private static final class FlatDEM implements DiscreteElevationModel {
+        private final Interval2D extent = new Interval2D(new Interval1D(0, 1000), new Interval1D(0, 1000));
+
+        @Override
+        public Interval2D extent() { return extent; }
+
+        @Override
+        public double elevationSample(int x, int y) { return 500; }
+
+        @Override
+        public void close() {}
+    }
+
+    private static final class SlopedDEM implements DiscreteElevationModel {
+        private final Interval2D extent = new Interval2D(new Interval1D(0, 1000), new Interval1D(0, 1000));
+
+        @Override
+        public Interval2D extent() { return extent; }
+
+        @Override
+        public double elevationSample(int x, int y) { return 1000 * y + x; }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,170 @@
+package ch.epfl.alpano.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+public class StripPngWriterTest {
+    private final static long SEED = 0x5EED;
+
+    private static BufferedImage read(ByteArrayOutputStream s) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(s.toByteArray()));
+    }
+
+    private static int countChunks(ByteArrayOutputStream s, String type) {
+        ByteBuffer b = ByteBuffer.wrap(s.toByteArray());
+        b.position(8);
+        int count = 0;
+        while (b.hasRemaining()) {
+            int length = b.getInt();
+            byte[] t = new byte[4];
+            b.get(t);
+            if (new String(t, StandardCharsets.US_ASCII).equals(type))
+                ++count;
+            b.position(b.position() + length + 4);
+        }
+        return count;
+    }
+
+    private static int[] noise(Random rng, int size) {
+        int[] pixels = new int[size];
+        for (int p = 0; p < size; ++p)
+            pixels[p] = rng.nextInt(1 << 24);
+        return pixels;
+    }
+
+    @Test
+    public void writtenImageHasThePixelsOfAllStrips() throws IOException {
+        Random rng = new Random(SEED);
+        for (int i = 0; i < 20; ++i) {
+            int width = 1 + rng.nextInt(300), height = 1 + rng.nextInt(300);
+            int[] pixels = new int[width * height];
+            for (int p = 0; p < pixels.length; ++p)
+                pixels[p] = rng.nextInt(1 << 24);
+
+            ByteArrayOutputStream s = new ByteArrayOutputStream();
+            try (StripPngWriter w = new StripPngWriter(s, width, height, 1 + rng.nextInt(3), rng.nextInt(10))) {
+                for (int y = 0; y < height; ) {
+                    int rows = Math.min(height - y, rng.nextInt(40));
+                    w.writeRows(pixels, y * width, rows);
+                    y += rows;
+                }
+            }
+
+            BufferedImage image = read(s);
+            assertEquals(width, image.getWidth());
+            assertEquals(height, image.getHeight());
+            for (int y = 0; y < height; ++y)
+                for (int x = 0; x < width; ++x)
+                    assertEquals(pixels[y * width + x], image.getRGB(x, y) & 0xFFFFFF);
+        }
+    }
+
+    @Test
+    public void largeImageIsSplitInSeveralChunks() throws IOException {
+        int width = 2000, height = 500;
+        Random rng = new Random(SEED);
+        int[] strip = new int[width * 10];
+        ByteArrayOutputStream s = new ByteArrayOutputStream();
+        try (StripPngWriter w = new StripPngWriter(s, width, height)) {
+            for (int y = 0; y < height; y += 10) {
+                for (int p = 0; p < strip.length; ++p)
+                    strip[p] = rng.nextInt(1 << 24);
+                w.writeRows(strip, 0, 10);
+            }
+        }
+        assertTrue(countChunks(s, "IDAT") > 1);
+        BufferedImage image = read(s);
+        assertEquals(width, image.getWidth());
+        assertEquals(strip[strip.length - 1], image.getRGB(width - 1, height - 1) & 0xFFFFFF);
+    }
+
+    @Test
+    public void interruptedCloseStopsTheCompressingThread() throws Exception {
+        BlockingStream blocking = new BlockingStream();
+        Random rng = new Random(SEED);
+        int[] noise = noise(rng, 1000 * 100);
+        StripPngWriter w = new StripPngWriter(blocking, 1000, 300, 1, 0);
+        Thread deflater = null;
+        for (Thread t : Thread.getAllStackTraces().keySet())
+            if (t.getName().equals("png-deflater") && t.isAlive())
+                deflater = t;
+        blocking.block = true;
+        w.writeRows(noise, 0, 100);
+        w.writeRows(noise, 0, 100);
+        Thread.currentThread().interrupt();
+        try {
+            w.close();
+            fail();
+        } catch (InterruptedIOException e) {
+            assertTrue(Thread.interrupted());
+        }
+        deflater.join(10_000);
+        assertFalse(deflater.isAlive());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeRowsFailsWithTooManyRows() throws IOException {
+        try (StripPngWriter w = new StripPngWriter(new ByteArrayOutputStream(), 10, 10)) {
+            w.writeRows(new int[110], 0, 11);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closeFailsIfRowsAreMissing() throws IOException {
+        StripPngWriter w = new StripPngWriter(new ByteArrayOutputStream(), 10, 10);
+        w.writeRows(new int[100], 0, 5);
+        w.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void failureOfTheStreamIsReported() throws IOException {
+        OutputStream failing = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 100)
+                    throw new IOException();
+            }
+        };
+        int[] noise = noise(new Random(SEED), 1000 * 100);
+        try (StripPngWriter w = new StripPngWriter(failing, 1000, 1000)) {
+            for (int y = 0; y < 1000; y += 100)
+                w.writeRows(noise, 0, 100);
+        }
+    }
+
+    /**
+     * Stream blocking its writing thread until it is interrupted, once block is set.
+     */
+    private static final class BlockingStream extends OutputStream {
+        volatile boolean block;
+
+        @Override
+        public void write(int b) throws IOException {
+            while (block) {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+}